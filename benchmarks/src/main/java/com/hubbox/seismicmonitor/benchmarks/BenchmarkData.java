@@ -0,0 +1,54 @@
+package com.hubbox.seismicmonitor.benchmarks;
+
+import com.hubbox.seismicmonitor.model.StreamId;
+import com.hubbox.seismicmonitor.simulation.SyntheticRecordFactory;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+import edu.sc.seis.seisFile.mseed.SeedFormatException;
+import edu.sc.seis.seisFile.mseed.SeedRecord;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Deterministic inputs shared by the benchmarks.
+ */
+final class BenchmarkData {
+    static final StreamId STREAM = new StreamId("XX", "BENCH", "00", "BHZ");
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Noise with a few bursts, scaled like normalized counts.
+     */
+    static float[] signal(int length, int sampleRate) {
+        Random random = new Random(SEED);
+        float[] signal = new float[length];
+        int burstEvery = sampleRate * 120;
+        for (int i = 0; i < length; i++) {
+            double value = random.nextGaussian() * 0.01;
+            int sinceBurst = i % burstEvery;
+            if (sinceBurst < sampleRate * 10) {
+                value += 0.5 * Math.exp(-sinceBurst / (2.0 * sampleRate)) * Math.sin(sinceBurst * 0.3);
+            }
+            signal[i] = (float) value;
+        }
+        return signal;
+    }
+
+    /**
+     * Consecutive synthetic 512-byte INT32 records parsed back into seisFile records.
+     */
+    static DataRecord[] records(int count, int sampleRate) throws IOException, SeedFormatException {
+        SyntheticRecordFactory factory = new SyntheticRecordFactory(STREAM, sampleRate, SEED, 0L);
+        DataRecord[] records = new DataRecord[count];
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = factory.nextRecord(i).clone();
+            records[i] = (DataRecord) SeedRecord.read(new DataInputStream(new ByteArrayInputStream(bytes)),
+                SyntheticRecordFactory.RECORD_LENGTH);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,83 @@
+package com.hubbox.seismicmonitor.benchmarks;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.DetectorParameters;
+import com.hubbox.seismicmonitor.metrics.PipelineMetrics;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.StreamId;
+import com.hubbox.seismicmonitor.service.DetectorBank;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Detector bank throughput in samples per second for a growing number of parameter sets;
+ * compare with {@link StaLtaBenchmark} for the cost of a single detector.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DetectorBankBenchmark {
+    private static final int BLOCK_LENGTH = 512;
+    private static final int SIGNAL_SECONDS = 600;
+    private static final StreamId STREAM = new StreamId("XX", "BENCH", "00", "BHZ");
+
+    @Param({"40", "100"})
+    private int sampleRate;
+
+    @Param({"1", "4", "16"})
+    private int sets;
+
+    private DetectorBank bank;
+    private float[] signal;
+    private float[] block;
+    private int offset;
+    private long samplesProcessed;
+
+    @Setup
+    public void setup() {
+        // STA 0.5..2 s and LTA 30..120 s, the range usually compared when tuning
+        List<DetectorParameters> parameters = new ArrayList<>();
+        for (int k = 0; k < sets; k++) {
+            int staWindow = (int) Math.round((0.5 + 0.5 * (k % 4)) * sampleRate);
+            int ltaWindow = (30 + 30 * (k / 4 % 4)) * sampleRate;
+            parameters.add(new DetectorParameters(staWindow, ltaWindow, 3.0 + 0.5 * (k % 3), 1.5));
+        }
+        bank = new DetectorBank(STREAM, new AppConfig(), parameters, new PipelineMetrics());
+        signal = BenchmarkData.signal(sampleRate * SIGNAL_SECONDS, sampleRate);
+        block = new float[BLOCK_LENGTH];
+        offset = 0;
+        samplesProcessed = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK_LENGTH)
+    public SampleBlock processBlock() {
+        System.arraycopy(signal, offset, block, 0, BLOCK_LENGTH);
+        // Record time keeps advancing when the signal wraps, as the trigger state machines expect
+        long startNanos = samplesProcessed * 1_000_000_000L / sampleRate;
+        SampleBlock sampleBlock = new SampleBlock(STREAM, startNanos, sampleRate, BLOCK_LENGTH);
+        samplesProcessed += BLOCK_LENGTH;
+        offset += BLOCK_LENGTH;
+        if (offset + BLOCK_LENGTH > signal.length) {
+            offset = 0;
+        }
+        bank.process(block, BLOCK_LENGTH, sampleBlock);
+        return sampleBlock;
+    }
+}
@@ -0,0 +1,106 @@
+package com.hubbox.seismicmonitor.benchmarks;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.FilterType;
+import com.hubbox.seismicmonitor.service.DataSource;
+import com.hubbox.seismicmonitor.service.RecordSink;
+import com.hubbox.seismicmonitor.service.SeedLinkService;
+import com.hubbox.seismicmonitor.simulation.SyntheticRecordFactory;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Record to samples to detections: decoding, normalization, pre-filter, STA/LTA and publishing on the output
+ * ring, driven through {@link SeedLinkService}'s record sink. Scores are samples per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class IngestBenchmark {
+    private static final int RECORD_COUNT = 1024;
+
+    @Param({"20", "40", "100"})
+    private int sampleRate;
+
+    @Param({"100/5000", "400/20000"})
+    private String windowSamples;
+
+    @Param({"NONE", "BANDPASS"})
+    private FilterType filterType;
+
+    private SeedLinkService service;
+    private RecordSink sink;
+    private DataRecord[] records;
+    private int next;
+
+    @Setup
+    public void setup() throws Exception {
+        String[] windows = windowSamples.split("/");
+        AppConfig config = new AppConfig().toBuilder()
+            .staWindow(Integer.parseInt(windows[0]))
+            .ltaWindow(Integer.parseInt(windows[1]))
+            .threshold(3.0)
+            .filterType(filterType)
+            .build();
+        records = BenchmarkData.records(RECORD_COUNT, sampleRate);
+        service = new SeedLinkService(config, new CapturingSource());
+        service.startDataCollection();
+        next = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void drainOutput() {
+        service.getOutput().clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SyntheticRecordFactory.SAMPLES_PER_RECORD)
+    public void processRecord() {
+        sink.accept(records[next], null);
+        if (++next == records.length) {
+            next = 0;
+        }
+    }
+
+    /**
+     * Source that only captures the pipeline's sink so records can be pushed from the benchmark thread.
+     */
+    private final class CapturingSource implements DataSource {
+        @Override
+        public void start(RecordSink recordSink) {
+            sink = recordSink;
+        }
+
+        @Override
+        public void stop() {
+            // nothing to stop
+        }
+
+        @Override
+        public String describe() {
+            return "benchmark";
+        }
+    }
+}
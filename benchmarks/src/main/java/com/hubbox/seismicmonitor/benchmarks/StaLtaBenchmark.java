@@ -0,0 +1,93 @@
+package com.hubbox.seismicmonitor.benchmarks;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.service.CharacteristicFunction;
+import com.hubbox.seismicmonitor.service.CharacteristicFunctions;
+import com.hubbox.seismicmonitor.service.StaLtaService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * STA/LTA throughput in samples per second, block and per-sample entry points, with the scalar and
+ * the Vector API kernels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class StaLtaBenchmark {
+    private static final int BLOCK_LENGTH = 512;
+    private static final int SIGNAL_SECONDS = 600;
+
+    @Param({"20", "40", "100"})
+    private int sampleRate;
+
+    // STA/LTA window lengths in seconds
+    @Param({"1/30", "2.5/60", "5/300"})
+    private String windowSeconds;
+
+    @Param({"scalar", "vector"})
+    private String kernel;
+
+    private StaLtaService service;
+    private float[] signal;
+    private float[] ratios;
+    private int offset;
+
+    @Setup
+    public void setup() {
+        String[] windows = windowSeconds.split("/");
+        int staWindow = (int) Math.round(Double.parseDouble(windows[0]) * sampleRate);
+        int ltaWindow = (int) Math.round(Double.parseDouble(windows[1]) * sampleRate);
+        AppConfig config = new AppConfig().toBuilder()
+            .staWindow(staWindow)
+            .ltaWindow(ltaWindow)
+            .threshold(3.0)
+            .build();
+        CharacteristicFunction function = "vector".equals(kernel)
+            ? CharacteristicFunctions.vector().orElseThrow(() -> new IllegalStateException("jdk.incubator.vector not available"))
+            : CharacteristicFunctions.scalar();
+        service = new StaLtaService(config, function);
+        signal = BenchmarkData.signal(sampleRate * SIGNAL_SECONDS, sampleRate);
+        ratios = new float[signal.length];
+        offset = 0;
+    }
+
+    private int nextOffset() {
+        int current = offset;
+        offset += BLOCK_LENGTH;
+        if (offset + BLOCK_LENGTH > signal.length) {
+            offset = 0;
+        }
+        return current;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK_LENGTH)
+    public int processBlock() {
+        return service.process(signal, nextOffset(), BLOCK_LENGTH, ratios);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK_LENGTH)
+    public void processPerSample(Blackhole blackhole) {
+        int start = nextOffset();
+        for (int i = start; i < start + BLOCK_LENGTH; i++) {
+            blackhole.consume(service.process(signal[i]));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hubbox.seismicmonitor.benchmarks;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.service.DataSource;
+import com.hubbox.seismicmonitor.service.RecordSink;
+import com.hubbox.seismicmonitor.service.SeedLinkService;
+import com.hubbox.seismicmonitor.service.SpscRingBuffer;
+import com.hubbox.seismicmonitor.viewmodel.MonitorViewModel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One UI frame of {@link MonitorViewModel#updateUIBatch()}: draining a full batch of blocks from
+ * the ingest ring, stream bookkeeping and appending to the waveform history. Blocks carry no
+ * detections, so no JavaFX toolkit is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViewModelBenchmark {
+    private static final int BATCH_BLOCKS = 256;
+
+    @Param({"20", "40", "100"})
+    private int sampleRate;
+
+    @Param({"112", "512"})
+    private int blockLength;
+
+    @Param({"60000", "1000000"})
+    private int maxDataPoints;
+
+    private SeedLinkService service;
+    private MonitorViewModel viewModel;
+    private SpscRingBuffer<SampleBlock> ring;
+    private SampleBlock[] blocks;
+
+    @Setup
+    public void setup() {
+        AppConfig config = new AppConfig().toBuilder().maxDataPoints(maxDataPoints).build();
+        service = new SeedLinkService(config, new IdleSource());
+        ring = service.getOutput();
+        viewModel = new MonitorViewModel(service, config);
+
+        float[] signal = BenchmarkData.signal(BATCH_BLOCKS * blockLength, sampleRate);
+        blocks = new SampleBlock[BATCH_BLOCKS];
+        long start = 0;
+        for (int i = 0; i < BATCH_BLOCKS; i++) {
+            SampleBlock block = new SampleBlock(BenchmarkData.STREAM, start, sampleRate, blockLength);
+            System.arraycopy(signal, i * blockLength, block.getValues(), 0, blockLength);
+            blocks[i] = block;
+            start = block.timeNanosAt(blockLength);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fillRing() {
+        for (SampleBlock block : blocks) {
+            ring.offer(block);
+        }
+    }
+
+    @Benchmark
+    public void updateUIBatch() {
+        viewModel.updateUIBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    private static final class IdleSource implements DataSource {
+        @Override
+        public void start(RecordSink sink) {
+            // blocks are offered directly by the benchmark
+        }
+
+        @Override
+        public void stop() {
+            // nothing to stop
+        }
+
+        @Override
+        public String describe() {
+            return "benchmark";
+        }
+    }
+}
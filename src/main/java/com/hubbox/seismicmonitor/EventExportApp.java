@@ -0,0 +1,60 @@
+package com.hubbox.seismicmonitor;
+
+import com.hubbox.seismicmonitor.service.EventCatalogExporter;
+import com.hubbox.seismicmonitor.service.EventStore;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports the events of an event store as a CSV or QuakeML catalogue without starting ingest or the
+ * user interface.
+ * <p>
+ * Usage: {@code EventExportApp <store> <csv|quakeml> <output> [from] [to] [NET_STA,...]}, with
+ * {@code from} and {@code to} as ISO-8601 instants ({@code 2024-01-01T00:00:00Z}) or {@code -} for an
+ * open bound.
+ */
+@Slf4j
+public class EventExportApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: EventExportApp <store> <csv|quakeml> <output> [from] [to] [NET_STA,...]");
+            System.exit(2);
+        }
+        Path storeFile = Path.of(args[0]);
+        EventCatalogExporter.Format format = EventCatalogExporter.Format.parse(args[1]);
+        Path output = Path.of(args[2]);
+        Instant from = args.length > 3 ? parseBound(args[3], Instant.MIN) : Instant.MIN;
+        Instant to = args.length > 4 ? parseBound(args[4], Instant.MAX) : Instant.MAX;
+        Set<String> stations = args.length > 5 ? parseStations(args[5]) : Set.of();
+
+        // Opening a missing store would create an empty one
+        if (!Files.isRegularFile(storeFile)) {
+            throw new NoSuchFileException(storeFile.toString());
+        }
+        try (EventStore store = EventStore.open(storeFile);
+             Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            new EventCatalogExporter(store).export(from, to, stations, format, writer);
+        }
+    }
+
+    private static Instant parseBound(String value, Instant open) {
+        return value.equals("-") ? open : Instant.parse(value);
+    }
+
+    private static Set<String> parseStations(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(station -> !station.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,108 @@
+package com.hubbox.seismicmonitor;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.AppConfigLoader;
+import com.hubbox.seismicmonitor.metrics.MetricsExporter;
+import com.hubbox.seismicmonitor.model.NetworkEvent;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.service.SeedLinkService;
+import com.hubbox.seismicmonitor.service.SpscRingBuffer;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs ingest and detection without a user interface. No JavaFX class is touched, so the FX
+ * toolkit is never started and the process can run on machines without a display.
+ * <p>
+ * Usage: {@code HeadlessDetectionApp [config.properties]}; see {@link AppConfigLoader} for the keys.
+ */
+@Slf4j
+public class HeadlessDetectionApp {
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+
+    private final AppConfig config;
+    private final SeedLinkService seedLinkService;
+    private final MetricsExporter metricsExporter;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile boolean running = false;
+    private long eventCount;
+    private long networkEventCount;
+
+    public HeadlessDetectionApp(AppConfig config) {
+        this.config = config;
+        this.seedLinkService = new SeedLinkService(config);
+        this.metricsExporter = new MetricsExporter(seedLinkService.getMetrics());
+    }
+
+    /**
+     * Starts the pipeline and consumes its output on the calling thread until {@link #stop()}.
+     */
+    public void run() {
+        running = true;
+        try {
+            metricsExporter.start(config.metricsPort());
+            seedLinkService.startDataCollection();
+            log.info("Headless detection started for {}", seedLinkService.getSource().describe());
+            seedLinkService.getEventStore().ifPresent(store ->
+                log.info("Storing events in {} ({} stored so far)", store.getFile(), store.size()));
+
+            SpscRingBuffer<SampleBlock> output = seedLinkService.getOutput();
+            SpscRingBuffer<SeismicEvent> events = seedLinkService.getEvents();
+            SpscRingBuffer<NetworkEvent> networkEvents = seedLinkService.getNetworkEvents();
+            while (running) {
+                // Blocks are only needed by the UI; draining them keeps the dropped-block metric meaningful
+                int drained = output.drain(block -> { }, DRAIN_BATCH);
+                drained += events.drain(this::handleEvent, DRAIN_BATCH);
+                drained += networkEvents.drain(this::handleNetworkEvent, DRAIN_BATCH);
+                if (drained == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } finally {
+            seedLinkService.close();
+            metricsExporter.close();
+            log.info("Headless detection stopped after {} events and {} network events", eventCount, networkEventCount);
+            finished.countDown();
+        }
+    }
+
+    private void handleEvent(SeismicEvent event) {
+        eventCount++;
+        log.info("Seismic event on {}.{}.{}.{}: onset {}, duration {} s, peak STA/LTA {}, peak amplitude {}",
+            event.network(), event.station(), event.location(), event.channel(),
+            event.onsetTime(),
+            String.format("%.1f", event.duration().toMillis() / 1000.0),
+            String.format("%.2f", event.peakRatio()),
+            String.format("%.5f", event.peakAmplitude()));
+    }
+
+    private void handleNetworkEvent(NetworkEvent event) {
+        networkEventCount++;
+        log.info("Network event: first onset {}, weight {}, stations {}",
+            event.firstOnset(), String.format("%.2f", event.weight()), String.join(" ", event.stations()));
+    }
+
+    /**
+     * Stops the consumer loop and waits until the pipeline has been shut down.
+     */
+    public void stop() {
+        running = false;
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        AppConfig config = args.length > 0 ? AppConfigLoader.load(Path.of(args[0])) : new AppConfig();
+        HeadlessDetectionApp app = new HeadlessDetectionApp(config);
+        Runtime.getRuntime().addShutdownHook(new Thread(app::stop, "headless-shutdown"));
+        app.run();
+    }
+}
@@ -2,8 +2,8 @@ package com.hubbox.seismicmonitor;
 
 
 import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.metrics.MetricsExporter;
 import com.hubbox.seismicmonitor.service.SeedLinkService;
-import com.hubbox.seismicmonitor.service.StaLtaService;
 import com.hubbox.seismicmonitor.view.ConfigurationDialog;
 import com.hubbox.seismicmonitor.view.MonitorView;
 import com.hubbox.seismicmonitor.viewmodel.MonitorViewModel;
@@ -20,7 +20,9 @@ import lombok.extern.slf4j.Slf4j;
 public class SeismicMonitorApp extends Application {
     private AppConfig config;
     private SeedLinkService seedLinkService;
+    private MetricsExporter metricsExporter;
     private MonitorViewModel viewModel;
+    private MonitorView monitorView;
     private Stage primaryStage;
 
     @Override
@@ -44,7 +46,7 @@ public class SeismicMonitorApp extends Application {
 
         initializeServices();
 
-        showMainWindow();
+        showMainWindow(true);
 
         primaryStage.setOnCloseRequest(event -> {
             event.consume();
@@ -66,11 +68,12 @@ public class SeismicMonitorApp extends Application {
     }
 
     private void initializeServices() {
-        StaLtaService staLtaService;
         try {
-            staLtaService = new StaLtaService(config);
-            seedLinkService = new SeedLinkService(config, staLtaService);
+            seedLinkService = new SeedLinkService(config);
             viewModel = new MonitorViewModel(seedLinkService, config);
+            viewModel.setConfigChangeHandler(this::applyConfig);
+            metricsExporter = new MetricsExporter(seedLinkService.getMetrics());
+            metricsExporter.start(config.metricsPort());
 
             log.info("Services initialized successfully");
         } catch (Exception e) {
@@ -78,16 +81,21 @@ public class SeismicMonitorApp extends Application {
         }
     }
 
-    private void showMainWindow() {
+    private void showMainWindow(boolean startMonitoring) {
         try {
-            MonitorView monitorView = new MonitorView(viewModel);
-            Scene scene = new Scene(monitorView, 1024, 768);
-
-            primaryStage.setTitle("Sismik Monitör");
-            primaryStage.setScene(scene);
-            primaryStage.show();
+            monitorView = new MonitorView(viewModel);
+            Scene scene = primaryStage.getScene();
+            if (scene == null) {
+                primaryStage.setTitle("Sismik Monitör");
+                primaryStage.setScene(new Scene(monitorView, 1024, 768));
+                primaryStage.show();
+            } else {
+                scene.setRoot(monitorView);
+            }
 
-            viewModel.startMonitoring();
+            if (startMonitoring) {
+                viewModel.startMonitoring();
+            }
 
             log.info("Main window displayed successfully");
         } catch (Exception e) {
@@ -95,6 +103,33 @@ public class SeismicMonitorApp extends Application {
         }
     }
 
+    /**
+     * Rebuilds the service, the metrics endpoint and the main view for a new configuration; the
+     * data source, detectors, archive and event store are all created from it.
+     */
+    private void applyConfig(AppConfig newConfig, boolean resumeMonitoring) {
+        closeServices();
+        if (monitorView != null) {
+            monitorView.dispose();
+        }
+        config = newConfig;
+        initializeServices();
+        showMainWindow(resumeMonitoring);
+        log.info("Applied new configuration");
+    }
+
+    private void closeServices() {
+        if (viewModel != null) {
+            viewModel.stopMonitoring();
+        }
+        if (seedLinkService != null) {
+            seedLinkService.close();
+        }
+        if (metricsExporter != null) {
+            metricsExporter.close();
+        }
+    }
+
     private void handleApplicationClose() {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Çıkış");
@@ -109,11 +144,9 @@ public class SeismicMonitorApp extends Application {
 
     private void shutdown() {
         try {
-            if (viewModel != null) {
-                viewModel.stopMonitoring();
-            }
-            if (seedLinkService != null) {
-                seedLinkService.stop();
+            closeServices();
+            if (monitorView != null) {
+                monitorView.dispose();
             }
 
             log.info("Application shutdown successfully");
@@ -1,5 +1,11 @@
 package com.hubbox.seismicmonitor.config;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.Builder;
 
 @Builder(toBuilder = true)
@@ -12,8 +18,27 @@ public record AppConfig(
     Integer staWindow,
     Integer ltaWindow,
     Double threshold,
+    Double triggerOffThreshold,
+    Double minTriggerDuration,
+    Double triggerHold,
+    Double coincidenceWindow,
+    Double coincidenceThreshold,
+    String stationWeights,
+    FilterType filterType,
+    Double filterLowHz,
+    Double filterHighHz,
+    Integer filterOrder,
+    String detectorBank,
     Integer maxDataPoints,
-    Double normalizationFactor
+    Double normalizationFactor,
+    String streams,
+    String archiveDirectory,
+    String eventStoreFile,
+    String replayPath,
+    String replayFrom,
+    String replayTo,
+    Double replaySpeed,
+    Integer metricsPort
 ) {
     public AppConfig() {
         this(
@@ -24,9 +49,127 @@ public record AppConfig(
             "00BHZ",
             100,
             5000,
-            0.1,
-            1000,
-            100000.0
+            3.0,
+            1.5,
+            1.0,
+            2.0,
+            10.0,
+            3.0,
+            "",
+            FilterType.BANDPASS,
+            1.0,
+            10.0,
+            4,
+            "",
+            60000,
+            100000.0,
+            "",
+            "",
+            "",
+            "",
+            "",
+            "",
+            1.0,
+            0
         );
     }
+
+    /**
+     * The primary network/station/channel followed by the additional {@link #streams()} selections.
+     */
+    public List<StreamSelection> streamSelections() {
+        Map<String, StreamSelection> merged = new LinkedHashMap<>();
+        StreamSelection.merge(merged, new StreamSelection(network, station, List.of(channel)));
+        StreamSelection.parseAll(streams).forEach(selection -> StreamSelection.merge(merged, selection));
+        return List.copyOf(merged.values());
+    }
+
+    /**
+     * Network coincidence is evaluated when {@link #coincidenceThreshold()} is positive.
+     */
+    public boolean coincidenceEnabled() {
+        return coincidenceThreshold != null && coincidenceThreshold > 0;
+    }
+
+    /**
+     * Parses {@link #stationWeights()}, a comma separated list of {@code NET_STA=weight}. Stations
+     * that are not listed weigh 1.
+     */
+    public Map<String, Double> stationWeightMap() {
+        Map<String, Double> weights = new HashMap<>();
+        if (stationWeights == null || stationWeights.isBlank()) {
+            return weights;
+        }
+        for (String part : stationWeights.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2 || pair[0].trim().indexOf('_') <= 0) {
+                throw new IllegalArgumentException("Invalid station weight: " + part.trim());
+            }
+            try {
+                weights.put(pair[0].trim(), Double.parseDouble(pair[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid station weight: " + part.trim(), e);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Additional STA/LTA parameter sets from {@link #detectorBank()}, evaluated next to the primary
+     * {@code staWindow}/{@code ltaWindow}/{@code threshold} detector. Sets without their own
+     * trigger-off threshold keep the primary detector's off/on ratio; configurations that predate
+     * either threshold use the default ratio.
+     */
+    public List<DetectorParameters> detectorSets() {
+        if (detectorBank == null || detectorBank.isBlank()) {
+            return List.of();
+        }
+        AppConfig defaults = new AppConfig();
+        double on = threshold != null ? threshold : defaults.threshold();
+        double off = triggerOffThreshold != null ? triggerOffThreshold : defaults.triggerOffThreshold();
+        return DetectorParameters.parseAll(detectorBank, off / on);
+    }
+
+    public boolean archiveEnabled() {
+        return archiveDirectory != null && !archiveDirectory.isBlank();
+    }
+
+    public boolean eventStoreEnabled() {
+        return eventStoreFile != null && !eventStoreFile.isBlank();
+    }
+
+    /**
+     * When set, records are replayed from {@link #replayPath()} instead of the SeedLink server.
+     */
+    public boolean replayEnabled() {
+        return replayPath != null && !replayPath.isBlank();
+    }
+
+    /**
+     * Start of the replayed window from {@link #replayFrom()}, an ISO-8601 instant; open if blank.
+     */
+    public Instant replayStart() {
+        return parseInstant(replayFrom, Instant.MIN);
+    }
+
+    /**
+     * End of the replayed window from {@link #replayTo()}, an ISO-8601 instant; open if blank.
+     */
+    public Instant replayEnd() {
+        return parseInstant(replayTo, Instant.MAX);
+    }
+
+    private static Instant parseInstant(String value, Instant open) {
+        if (value == null || value.isBlank()) {
+            return open;
+        }
+        try {
+            return Instant.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time: " + value.trim(), e);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.hubbox.seismicmonitor.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Reads an {@link AppConfig} from a properties file whose keys are the record component names
+ * ({@code host}, {@code port}, {@code staWindow}, ...). Missing keys keep their defaults.
+ * <p>
+ * The STA/LTA ratio stays around 1 on background noise, so the trigger threshold must be above 1
+ * and above the trigger-off threshold; otherwise a trigger never ends and no event is produced.
+ */
+@UtilityClass
+public class AppConfigLoader {
+
+    public static AppConfig load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    public static AppConfig fromProperties(Properties properties) {
+        AppConfig.AppConfigBuilder builder = new AppConfig().toBuilder();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            try {
+                apply(builder, key, value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+            }
+        }
+        AppConfig config = builder.build();
+        validate(config);
+        return config;
+    }
+
+    private static void validate(AppConfig config) {
+        if (config.threshold() <= 1.0) {
+            throw new IllegalArgumentException("threshold must be above 1: " + config.threshold());
+        }
+        if (config.triggerOffThreshold() >= config.threshold()) {
+            throw new IllegalArgumentException("triggerOffThreshold must be below threshold: "
+                + config.triggerOffThreshold() + " >= " + config.threshold());
+        }
+        // Rejects detector bank sets with the same threshold rules
+        config.detectorSets();
+    }
+
+    private static void apply(AppConfig.AppConfigBuilder builder, String key, String value) {
+        switch (key) {
+            case "host" -> builder.host(value);
+            case "port" -> builder.port(Integer.parseInt(value));
+            case "network" -> builder.network(value);
+            case "station" -> builder.station(value);
+            case "channel" -> builder.channel(value);
+            case "staWindow" -> builder.staWindow(Integer.parseInt(value));
+            case "ltaWindow" -> builder.ltaWindow(Integer.parseInt(value));
+            case "threshold" -> builder.threshold(Double.parseDouble(value));
+            case "triggerOffThreshold" -> builder.triggerOffThreshold(Double.parseDouble(value));
+            case "minTriggerDuration" -> builder.minTriggerDuration(Double.parseDouble(value));
+            case "triggerHold" -> builder.triggerHold(Double.parseDouble(value));
+            case "coincidenceWindow" -> builder.coincidenceWindow(Double.parseDouble(value));
+            case "coincidenceThreshold" -> builder.coincidenceThreshold(Double.parseDouble(value));
+            case "stationWeights" -> builder.stationWeights(value);
+            case "filterType" -> builder.filterType(FilterType.valueOf(value.toUpperCase(Locale.ROOT)));
+            case "filterLowHz" -> builder.filterLowHz(Double.parseDouble(value));
+            case "filterHighHz" -> builder.filterHighHz(Double.parseDouble(value));
+            case "filterOrder" -> builder.filterOrder(Integer.parseInt(value));
+            case "detectorBank" -> builder.detectorBank(value);
+            case "maxDataPoints" -> builder.maxDataPoints(Integer.parseInt(value));
+            case "normalizationFactor" -> builder.normalizationFactor(Double.parseDouble(value));
+            case "streams" -> builder.streams(value);
+            case "archiveDirectory" -> builder.archiveDirectory(value);
+            case "eventStoreFile" -> builder.eventStoreFile(value);
+            case "replayPath" -> builder.replayPath(value);
+            case "replayFrom" -> builder.replayFrom(value);
+            case "replayTo" -> builder.replayTo(value);
+            case "replaySpeed" -> builder.replaySpeed(Double.parseDouble(value));
+            case "metricsPort" -> builder.metricsPort(Integer.parseInt(value));
+            default -> throw new IllegalArgumentException("Unknown configuration key: " + key);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.hubbox.seismicmonitor.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One STA/LTA parameter set of the detector bank, written as {@code sta/lta/on[/off]} with the
+ * windows in samples. Without {@code off} the trigger-off threshold keeps the primary detector's
+ * ratio of off to on threshold. As for the primary detector, {@code on} must be above 1 and above
+ * {@code off}, otherwise the trigger never ends.
+ */
+public record DetectorParameters(
+    int staWindow,
+    int ltaWindow,
+    double threshold,
+    double triggerOffThreshold) {
+
+    public static DetectorParameters parse(String value, double offRatio) {
+        String[] parts = value.trim().split("/");
+        if (parts.length < 3 || parts.length > 4) {
+            throw new IllegalArgumentException("Invalid detector parameters: " + value.trim());
+        }
+        try {
+            int sta = Integer.parseInt(parts[0].trim());
+            int lta = Integer.parseInt(parts[1].trim());
+            double on = Double.parseDouble(parts[2].trim());
+            double off = parts.length == 4 ? Double.parseDouble(parts[3].trim()) : on * offRatio;
+            if (sta <= 0 || lta <= sta) {
+                throw new IllegalArgumentException("Invalid detector parameters: " + value.trim());
+            }
+            if (on <= 1.0 || off >= on) {
+                throw new IllegalArgumentException("Detector threshold must be above 1 and above its trigger-off "
+                    + "threshold: " + value.trim());
+            }
+            return new DetectorParameters(sta, lta, on, off);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid detector parameters: " + value.trim(), e);
+        }
+    }
+
+    /**
+     * Parses a {@code ;} separated list of parameter sets.
+     */
+    public static List<DetectorParameters> parseAll(String value, double offRatio) {
+        List<DetectorParameters> sets = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return sets;
+        }
+        for (String part : value.split(";")) {
+            if (!part.isBlank()) {
+                sets.add(parse(part, offRatio));
+            }
+        }
+        return sets;
+    }
+
+    public String label() {
+        return staWindow + "/" + ltaWindow + "/" + threshold;
+    }
+}
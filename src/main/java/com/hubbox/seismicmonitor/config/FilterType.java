@@ -0,0 +1,10 @@
+package com.hubbox.seismicmonitor.config;
+
+/**
+ * Butterworth pre-filter applied to each stream before STA/LTA.
+ */
+public enum FilterType {
+    NONE,
+    HIGHPASS,
+    BANDPASS
+}
@@ -0,0 +1,62 @@
+package com.hubbox.seismicmonitor.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One SeedLink STATION request with its SELECT patterns, written as {@code NET_STA:LLCCC LLCCC}.
+ */
+public record StreamSelection(
+    String network,
+    String station,
+    List<String> selectors) {
+
+    public static StreamSelection parse(String value) {
+        String trimmed = value.trim();
+        int colon = trimmed.indexOf(':');
+        String stationPart = colon >= 0 ? trimmed.substring(0, colon) : trimmed;
+        int underscore = stationPart.indexOf('_');
+        if (underscore <= 0 || underscore == stationPart.length() - 1) {
+            throw new IllegalArgumentException("Invalid stream selection: " + value);
+        }
+
+        List<String> selectors = colon >= 0
+            ? Arrays.stream(trimmed.substring(colon + 1).trim().split("\\s+"))
+                .filter(selector -> !selector.isEmpty())
+                .toList()
+            : List.of();
+        return new StreamSelection(stationPart.substring(0, underscore), stationPart.substring(underscore + 1), selectors);
+    }
+
+    /**
+     * Parses a comma separated list of selections, merging the selectors of repeated stations.
+     */
+    public static List<StreamSelection> parseAll(String value) {
+        Map<String, StreamSelection> merged = new LinkedHashMap<>();
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                merge(merged, parse(part));
+            }
+        }
+        return List.copyOf(merged.values());
+    }
+
+    static void merge(Map<String, StreamSelection> merged, StreamSelection selection) {
+        merged.merge(selection.network() + "_" + selection.station(), selection, (existing, added) -> {
+            List<String> selectors = new ArrayList<>(existing.selectors());
+            added.selectors().stream().filter(selector -> !selectors.contains(selector)).forEach(selectors::add);
+            return new StreamSelection(existing.network(), existing.station(), List.copyOf(selectors));
+        });
+    }
+
+    @Override
+    public String toString() {
+        return network + "_" + station + ":" + String.join(" ", selectors);
+    }
+}
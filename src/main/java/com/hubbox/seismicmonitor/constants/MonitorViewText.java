@@ -25,6 +25,12 @@ public class MonitorViewText {
         public static final String CLEAR_CHARTS = "Grafikleri Temizle";
     }
 
+    @UtilityClass
+    public static final class Stream {
+        public static final String STREAM_LABEL = "Akış:";
+        public static final String STREAM_PROMPT = "Akış bekleniyor";
+    }
+
     @UtilityClass
     public static final class Status {
         public static final String READY = "Hazır";
@@ -54,9 +60,35 @@ public class MonitorViewText {
         public static final String STATION_PROMPT = "İstasyon kodu girin";
         public static final String CHANNEL_LABEL = "Kanal:";
         public static final String CHANNEL_PROMPT = "Kanal kodu girin";
+        public static final String STREAMS_LABEL = "Ek Akışlar:";
+        public static final String STREAMS_PROMPT = "IU_COLA:00BHZ, II_KDAK:00BHZ 00BHN";
+        public static final String ARCHIVE_DIRECTORY_LABEL = "Arşiv Dizini:";
+        public static final String ARCHIVE_DIRECTORY_PROMPT = "Boş bırakılırsa arşivleme yapılmaz";
+        public static final String EVENT_STORE_FILE_LABEL = "Olay Deposu:";
+        public static final String EVENT_STORE_FILE_PROMPT = "Boş bırakılırsa olaylar saklanmaz";
+        public static final String REPLAY_PATH_LABEL = "Oynatılacak miniSEED:";
+        public static final String REPLAY_PATH_PROMPT = "Dosya veya dizin; boşsa canlı SeedLink";
+        public static final String REPLAY_FROM_LABEL = "Oynatma Başlangıcı:";
+        public static final String REPLAY_TO_LABEL = "Oynatma Bitişi:";
+        public static final String REPLAY_TIME_PROMPT = "Örn: 2024-01-01T00:00:00Z; boşsa sınırsız";
+        public static final String REPLAY_SPEED_LABEL = "Oynatma Hızı:";
+        public static final String METRICS_PORT_LABEL = "Metrik Portu:";
         public static final String STA_WINDOW_LABEL = "STA Pencere Boyutu:";
         public static final String LTA_WINDOW_LABEL = "LTA Pencere Boyutu:";
         public static final String THRESHOLD_LABEL = "Tetikleme Eşiği:";
+        public static final String TRIGGER_OFF_THRESHOLD_LABEL = "Tetik Kapanma Eşiği:";
+        public static final String MIN_TRIGGER_DURATION_LABEL = "En Kısa Olay Süresi (s):";
+        public static final String TRIGGER_HOLD_LABEL = "Tetik Bekleme Süresi (s):";
+        public static final String COINCIDENCE_WINDOW_LABEL = "Çakışma Penceresi (s):";
+        public static final String COINCIDENCE_THRESHOLD_LABEL = "Çakışma Eşiği:";
+        public static final String STATION_WEIGHTS_LABEL = "İstasyon Ağırlıkları:";
+        public static final String STATION_WEIGHTS_PROMPT = "IU_ANMO=2, IU_COLA=0.5";
+        public static final String FILTER_TYPE_LABEL = "Ön Filtre:";
+        public static final String FILTER_LOW_LABEL = "Alt Köşe Frekansı (Hz):";
+        public static final String FILTER_HIGH_LABEL = "Üst Köşe Frekansı (Hz):";
+        public static final String FILTER_ORDER_LABEL = "Filtre Derecesi:";
+        public static final String DETECTOR_BANK_LABEL = "Ek Dedektörler:";
+        public static final String DETECTOR_BANK_PROMPT = "50/2000/3; 200/8000/2.5";
         public static final String MAX_DATA_POINTS_LABEL = "Maksimum Veri Noktası:";
         public static final String NORMALIZATION_FACTOR_LABEL = "Normalizasyon Faktörü:";
     }
@@ -68,10 +100,28 @@ public class MonitorViewText {
         public static final String NETWORK = "Network kodu (örn: IU)";
         public static final String STATION = "İstasyon kodu (örn: ANMO)";
         public static final String CHANNEL = "Kanal kodu (örn: BHZ)";
+        public static final String STREAMS = "Aynı bağlantı üzerinden izlenecek ek akışlar (AĞ_İSTASYON:LLKKK, virgülle ayrılmış)";
+        public static final String ARCHIVE_DIRECTORY = "Alınan miniSEED kayıtlarının SDS düzeninde yazılacağı dizin";
+        public static final String EVENT_STORE_FILE = "Tespit edilen olayların eklendiği kalıcı dosya; yeniden başlatmada son olaylar buradan yüklenir";
+        public static final String REPLAY_PATH = "Canlı bağlantı yerine yerel miniSEED dosyası veya dizini (örn. SDS arşivi) oynatılır";
+        public static final String REPLAY_WINDOW = "Yalnızca bu zaman aralığındaki kayıtlar oynatılır; SDS arşivlerinde kayıtlar gün dosyası indeksiyle bulunur";
+        public static final String REPLAY_SPEED = "1 = gerçek zaman, N = N kat hızlı, 0 = mümkün olan en hızlı";
+        public static final String METRICS_PORT = "Prometheus metrik uç noktası için yerel port (0 = kapalı; JMX her zaman açık)";
         public static final String STA_WINDOW = "Kısa dönem ortalama pencere boyutu";
         public static final String LTA_WINDOW = "Uzun dönem ortalama pencere boyutu";
-        public static final String THRESHOLD = "STA/LTA tetikleme eşik değeri";
-        public static final String MAX_DATA_POINTS = "Grafikte gösterilecek maksimum veri noktası sayısı";
+        public static final String THRESHOLD = "STA/LTA tetikleme eşik değeri; gürültüde oran 1 civarında kaldığından 1'den büyük olmalı";
+        public static final String TRIGGER_OFF_THRESHOLD = "Oran bu değerin altına inince tetik kapanmaya başlar (tetikleme eşiğinden küçük olmalı)";
+        public static final String MIN_TRIGGER_DURATION = "Bu süreden kısa tetiklemeler olay olarak kaydedilmez";
+        public static final String TRIGGER_HOLD = "Oran kapanma eşiğinin altında bu kadar süre kalınca olay sona erer";
+        public static final String COINCIDENCE_WINDOW = "Ağ olayı için istasyon tetiklemelerinin birlikte sayıldığı süre";
+        public static final String COINCIDENCE_THRESHOLD = "Pencere içinde tetiklenen istasyonların ağırlık toplamı bu değere ulaşınca ağ olayı bildirilir (0 = kapalı)";
+        public static final String STATION_WEIGHTS = "AĞ_İSTASYON=ağırlık, virgülle ayrılmış; listelenmeyen istasyonların ağırlığı 1";
+        public static final String FILTER_TYPE = "STA/LTA öncesi uygulanan Butterworth filtresi (NONE, HIGHPASS, BANDPASS)";
+        public static final String FILTER_LOW = "Yüksek geçiren köşe frekansı; mikrosismik ve uzun periyotlu kaymayı bastırır";
+        public static final String FILTER_HIGH = "Alçak geçiren köşe frekansı (yalnızca BANDPASS); Nyquist'e eşit veya büyükse yok sayılır";
+        public static final String FILTER_ORDER = "Her köşe için Butterworth filtre derecesi (çift sayı)";
+        public static final String DETECTOR_BANK = "STA/LTA/açılma[/kapanma] biçiminde noktalı virgülle ayrılmış ek parametre setleri; sonuçları loglanır ve metriklerde sayılır";
+        public static final String MAX_DATA_POINTS = "Grafik geçmişinde tutulacak maksimum örnek sayısı";
         public static final String NORMALIZATION_FACTOR = "Ham veri normalizasyon faktörü";
     }
 
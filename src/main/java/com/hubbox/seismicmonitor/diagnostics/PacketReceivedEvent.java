@@ -0,0 +1,21 @@
+package com.hubbox.seismicmonitor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hubbox.seismicmonitor.PacketReceived")
+@Label("SeedLink Packet Received")
+@Description("A SeedLink packet was read; the duration covers handing its record to the pipeline")
+@Category({"Seismic Monitor", "Ingest"})
+@StackTrace(false)
+public class PacketReceivedEvent extends Event {
+    @Label("Stream")
+    public String stream;
+
+    @Label("Sequence")
+    public int sequence;
+}
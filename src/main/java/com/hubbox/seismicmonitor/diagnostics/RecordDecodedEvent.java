@@ -0,0 +1,24 @@
+package com.hubbox.seismicmonitor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.hubbox.seismicmonitor.RecordDecoded")
+@Label("miniSEED Record Decoded")
+@Category({"Seismic Monitor", "Ingest"})
+@StackTrace(false)
+public class RecordDecodedEvent extends Event {
+    @Label("Stream")
+    public String stream;
+
+    @Label("Samples")
+    public int sampleCount;
+
+    @Label("Data Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dataLatency;
+}
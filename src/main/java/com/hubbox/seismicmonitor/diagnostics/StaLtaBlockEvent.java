@@ -0,0 +1,22 @@
+package com.hubbox.seismicmonitor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hubbox.seismicmonitor.StaLtaBlock")
+@Label("STA/LTA Block Processed")
+@Category({"Seismic Monitor", "Detection"})
+@StackTrace(false)
+public class StaLtaBlockEvent extends Event {
+    @Label("Stream")
+    public String stream;
+
+    @Label("Samples")
+    public int sampleCount;
+
+    @Label("Samples Above Threshold")
+    public int detections;
+}
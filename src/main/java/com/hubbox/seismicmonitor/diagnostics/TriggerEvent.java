@@ -0,0 +1,30 @@
+package com.hubbox.seismicmonitor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("com.hubbox.seismicmonitor.Trigger")
+@Label("Trigger State Change")
+@Category({"Seismic Monitor", "Detection"})
+@StackTrace(false)
+public class TriggerEvent extends Event {
+    @Label("Stream")
+    public String stream;
+
+    @Label("Detector")
+    public String detector;
+
+    @Label("Triggered")
+    public boolean on;
+
+    @Label("STA/LTA Ratio")
+    public double ratio;
+
+    @Label("Sample Time")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    public long sampleTime;
+}
@@ -0,0 +1,22 @@
+package com.hubbox.seismicmonitor.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.hubbox.seismicmonitor.UiBatch")
+@Label("UI Batch Applied")
+@Category({"Seismic Monitor", "UI"})
+@StackTrace(false)
+public class UiBatchEvent extends Event {
+    @Label("Blocks Drained")
+    public int blocks;
+
+    @Label("Samples Appended")
+    public int samples;
+
+    @Label("Blocks Still Queued")
+    public int queued;
+}
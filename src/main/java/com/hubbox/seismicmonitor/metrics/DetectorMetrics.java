@@ -0,0 +1,33 @@
+package com.hubbox.seismicmonitor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * Trigger counters of one detector bank parameter set, summed over all streams.
+ */
+public class DetectorMetrics {
+    @Getter private final String detector;
+    private final LongAdder triggers = new LongAdder();
+    private final LongAdder events = new LongAdder();
+
+    public DetectorMetrics(String detector) {
+        this.detector = detector;
+    }
+
+    public void recordTrigger() {
+        triggers.increment();
+    }
+
+    public void recordEvent() {
+        events.increment();
+    }
+
+    public long getTriggers() {
+        return triggers.sum();
+    }
+
+    public long getEvents() {
+        return events.sum();
+    }
+}
@@ -0,0 +1,80 @@
+package com.hubbox.seismicmonitor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets (1 µs up to ~134 s).
+ * Quantiles are estimated as the upper bound of the bucket that contains them.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 28;
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos) / NANOS_PER_MICRO;
+        int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        counts[Math.min(bucket, BUCKETS)].increment();
+        sumNanos.add(Math.max(0, nanos));
+    }
+
+    /**
+     * Upper bound of bucket {@code index} in nanoseconds; the last bucket is unbounded.
+     */
+    public static long upperBoundNanos(int index) {
+        return index >= BUCKETS ? Long.MAX_VALUE : (1L << index) * NANOS_PER_MICRO;
+    }
+
+    public static int bucketCount() {
+        return BUCKETS + 1;
+    }
+
+    public long bucket(int index) {
+        return counts[index].sum();
+    }
+
+    public long count() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public long sumNanos() {
+        return sumNanos.sum();
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return estimated quantile in nanoseconds, or 0 if nothing was recorded
+     */
+    public long quantileNanos(double quantile) {
+        long[] snapshot = new long[counts.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            snapshot[i] = counts[i].sum();
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return i >= BUCKETS ? upperBoundNanos(BUCKETS - 1) : upperBoundNanos(i);
+            }
+        }
+        return upperBoundNanos(BUCKETS - 1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.hubbox.seismicmonitor.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes {@link PipelineMetrics} as platform MXBeans and, when a port is given, as a Prometheus
+ * scrape endpoint at {@code http://localhost:<port>/metrics}.
+ */
+@Slf4j
+public class MetricsExporter implements AutoCloseable {
+    private static final String DOMAIN = "com.hubbox.seismicmonitor";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final PipelineMetrics metrics;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final List<ObjectName> registered = new CopyOnWriteArrayList<>();
+    private final Consumer<StreamMetrics> streamRegistrar = this::registerStream;
+    private HttpServer httpServer;
+
+    public MetricsExporter(PipelineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param httpPort port of the scrape endpoint, 0 to publish over JMX only
+     */
+    public void start(int httpPort) {
+        register(metrics, DOMAIN + ":type=Pipeline");
+        metrics.onStream(streamRegistrar);
+
+        if (httpPort > 0) {
+            try {
+                httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), httpPort), 0);
+                httpServer.createContext("/metrics", this::handleScrape);
+                httpServer.start();
+                log.info("Metrics endpoint listening on http://localhost:{}/metrics", httpPort);
+            } catch (IOException e) {
+                log.error("Could not start metrics endpoint on port {}", httpPort, e);
+            }
+        }
+    }
+
+    private void registerStream(StreamMetrics stream) {
+        register(stream, DOMAIN + ":type=Stream,name=" + ObjectName.quote(stream.getStreamId().toString()));
+    }
+
+    private void register(Object bean, String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(bean, objectName);
+                registered.add(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Could not register MXBean {}", name, e);
+        }
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringBuilder body = new StringBuilder(16 * 1024);
+            metrics.writePrometheus(body);
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        metrics.removeStreamListener(streamRegistrar);
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        for (ObjectName name : registered) {
+            try {
+                mBeanServer.unregisterMBean(name);
+            } catch (JMException e) {
+                log.debug("Could not unregister MXBean {}", name, e);
+            }
+        }
+        registered.clear();
+    }
+}
@@ -0,0 +1,220 @@
+package com.hubbox.seismicmonitor.metrics;
+
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import lombok.Getter;
+
+/**
+ * Registry of pipeline metrics: per-stream ingest counters and timings, the ingest-to-screen
+ * latency and named gauges registered by the components that own the measured state.
+ * Rates are refreshed once per second between {@link #start()} and {@link #close()}.
+ */
+public class PipelineMetrics implements PipelineMetricsMXBean, AutoCloseable {
+    private static final String PREFIX = "seismic_";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final Map<StreamId, StreamMetrics> streams = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, DetectorMetrics> detectors = new ConcurrentSkipListMap<>();
+    private final CopyOnWriteArrayList<Consumer<StreamMetrics>> streamListeners = new CopyOnWriteArrayList<>();
+    // Wall clock when a block is handed to the charts minus the time of its last sample
+    @Getter private final LatencyHistogram screenLatency = new LatencyHistogram();
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Starts refreshing the rates; has no effect if they are already refreshed.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops refreshing the rates; the metrics stay readable and can be started again.
+     */
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    public StreamMetrics stream(StreamId streamId) {
+        StreamMetrics existing = streams.get(streamId);
+        if (existing != null) {
+            return existing;
+        }
+        StreamMetrics created = new StreamMetrics(streamId);
+        StreamMetrics previous = streams.putIfAbsent(streamId, created);
+        if (previous != null) {
+            return previous;
+        }
+        streamListeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    public DetectorMetrics detector(String detector) {
+        return detectors.computeIfAbsent(detector, DetectorMetrics::new);
+    }
+
+    public Collection<StreamMetrics> streams() {
+        return streams.values();
+    }
+
+    /**
+     * Calls {@code listener} for every existing and future stream.
+     */
+    public void onStream(Consumer<StreamMetrics> listener) {
+        streamListeners.add(listener);
+        streams.values().forEach(listener);
+    }
+
+    public void removeStreamListener(Consumer<StreamMetrics> listener) {
+        streamListeners.remove(listener);
+    }
+
+    public void registerGauge(String name, String help, DoubleSupplier value) {
+        gauges.put(name, new Gauge(help, value));
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        for (StreamMetrics stream : streams.values()) {
+            stream.tick(now);
+        }
+    }
+
+    @Override
+    public int getStreamCount() {
+        return streams.size();
+    }
+
+    @Override
+    public double getPacketsPerSecond() {
+        return streams.values().stream().mapToDouble(StreamMetrics::getPacketsPerSecond).sum();
+    }
+
+    @Override
+    public double getSamplesPerSecond() {
+        return streams.values().stream().mapToDouble(StreamMetrics::getSamplesPerSecond).sum();
+    }
+
+    @Override
+    public double getScreenLatencyP50Millis() {
+        return screenLatency.quantileNanos(0.5) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getScreenLatencyP99Millis() {
+        return screenLatency.quantileNanos(0.99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public Map<String, Long> getDetectorEvents() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        detectors.forEach((name, detector) -> values.put(name, detector.getEvents()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getGauges() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.value().getAsDouble()));
+        return values;
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format.
+     */
+    public void writePrometheus(StringBuilder out) {
+        writeHeader(out, "packets_total", "miniSEED records received", "counter");
+        streams.values().forEach(s -> writeSample(out, "packets_total", label(s), s.getPacketsReceived()));
+        writeHeader(out, "samples_total", "Samples received", "counter");
+        streams.values().forEach(s -> writeSample(out, "samples_total", label(s), s.getSamplesReceived()));
+        writeHeader(out, "packets_per_second", "Records received per second over the last second", "gauge");
+        streams.values().forEach(s -> writeSample(out, "packets_per_second", label(s), s.getPacketsPerSecond()));
+        writeHeader(out, "samples_per_second", "Samples received per second over the last second", "gauge");
+        streams.values().forEach(s -> writeSample(out, "samples_per_second", label(s), s.getSamplesPerSecond()));
+
+        writeHistogramHeader(out, "decode_seconds", "Record decode time");
+        streams.values().forEach(s -> writeHistogram(out, "decode_seconds", label(s), s.getDecodeTime()));
+        writeHistogramHeader(out, "detector_seconds", "STA/LTA time per record");
+        streams.values().forEach(s -> writeHistogram(out, "detector_seconds", label(s), s.getDetectorTime()));
+        writeHistogramHeader(out, "data_latency_seconds", "Arrival time minus time of the record's last sample");
+        streams.values().forEach(s -> writeHistogram(out, "data_latency_seconds", label(s), s.getDataLatency()));
+        writeHistogramHeader(out, "screen_latency_seconds", "Time a block reaches the charts minus time of its last sample");
+        writeHistogram(out, "screen_latency_seconds", "", screenLatency);
+
+        if (!detectors.isEmpty()) {
+            writeHeader(out, "detector_triggers_total", "Trigger onsets of each detector bank parameter set", "counter");
+            detectors.values().forEach(d -> writeSample(out, "detector_triggers_total", label(d), d.getTriggers()));
+            writeHeader(out, "detector_events_total", "Events of each detector bank parameter set", "counter");
+            detectors.values().forEach(d -> writeSample(out, "detector_events_total", label(d), d.getEvents()));
+        }
+
+        gauges.forEach((name, gauge) -> {
+            writeHeader(out, name, gauge.help(), "gauge");
+            writeSample(out, name, "", gauge.value().getAsDouble());
+        });
+    }
+
+    private static String label(StreamMetrics stream) {
+        return "stream=\"" + stream.getStreamId() + "\"";
+    }
+
+    private static String label(DetectorMetrics detector) {
+        return "detector=\"" + detector.getDetector() + "\"";
+    }
+
+    private static void writeHeader(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void writeHistogramHeader(StringBuilder out, String name, String help) {
+        writeHeader(out, name, help, "histogram");
+    }
+
+    private static void writeSample(StringBuilder out, String name, String labels, double value) {
+        out.append(PREFIX).append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static void writeHistogram(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        String separator = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.bucketCount(); i++) {
+            cumulative += histogram.bucket(i);
+            long bound = LatencyHistogram.upperBoundNanos(i);
+            String le = bound == Long.MAX_VALUE ? "+Inf" : Double.toString(bound / NANOS_PER_SECOND);
+            writeSample(out, name + "_bucket", separator + "le=\"" + le + "\"", cumulative);
+        }
+        writeSample(out, name + "_sum", labels, histogram.sumNanos() / NANOS_PER_SECOND);
+        writeSample(out, name + "_count", labels, cumulative);
+    }
+
+    private record Gauge(String help, DoubleSupplier value) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.hubbox.seismicmonitor.metrics;
+
+import java.util.Map;
+
+public interface PipelineMetricsMXBean {
+    int getStreamCount();
+
+    double getPacketsPerSecond();
+
+    double getSamplesPerSecond();
+
+    double getScreenLatencyP50Millis();
+
+    double getScreenLatencyP99Millis();
+
+    Map<String, Long> getDetectorEvents();
+
+    Map<String, Double> getGauges();
+}
@@ -0,0 +1,39 @@
+package com.hubbox.seismicmonitor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter with a per-second rate that is refreshed by {@link #tick(long)}.
+ */
+public class RateMeter {
+    private final LongAdder total = new LongAdder();
+    private long lastTotal;
+    private long lastTickNanos = System.nanoTime();
+    private volatile double ratePerSecond;
+
+    public void add(long amount) {
+        total.add(amount);
+    }
+
+    public void increment() {
+        total.increment();
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    public double ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    synchronized void tick(long nowNanos) {
+        long current = total.sum();
+        long elapsed = nowNanos - lastTickNanos;
+        if (elapsed > 0) {
+            ratePerSecond = (current - lastTotal) * 1e9 / elapsed;
+        }
+        lastTotal = current;
+        lastTickNanos = nowNanos;
+    }
+}
@@ -0,0 +1,78 @@
+package com.hubbox.seismicmonitor.metrics;
+
+import com.hubbox.seismicmonitor.model.StreamId;
+import lombok.Getter;
+
+/**
+ * Ingest counters and timings of one stream. Updated from the ingest thread, read from anywhere.
+ */
+@Getter
+public class StreamMetrics implements StreamMetricsMXBean {
+    private static final double NANOS_PER_MICRO = 1e3;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final StreamId streamId;
+    private final RateMeter packets = new RateMeter();
+    private final RateMeter samples = new RateMeter();
+    private final LatencyHistogram decodeTime = new LatencyHistogram();
+    private final LatencyHistogram detectorTime = new LatencyHistogram();
+    // Wall clock at arrival minus the time of the record's last sample
+    private final LatencyHistogram dataLatency = new LatencyHistogram();
+
+    public StreamMetrics(StreamId streamId) {
+        this.streamId = streamId;
+    }
+
+    public void recordPacket(int sampleCount, long decodeNanos, long detectorNanos, long latencyNanos) {
+        packets.increment();
+        samples.add(sampleCount);
+        decodeTime.record(decodeNanos);
+        detectorTime.record(detectorNanos);
+        dataLatency.record(latencyNanos);
+    }
+
+    void tick(long nowNanos) {
+        packets.tick(nowNanos);
+        samples.tick(nowNanos);
+    }
+
+    @Override
+    public long getPacketsReceived() {
+        return packets.total();
+    }
+
+    @Override
+    public long getSamplesReceived() {
+        return samples.total();
+    }
+
+    @Override
+    public double getPacketsPerSecond() {
+        return packets.ratePerSecond();
+    }
+
+    @Override
+    public double getSamplesPerSecond() {
+        return samples.ratePerSecond();
+    }
+
+    @Override
+    public double getDecodeTimeP99Micros() {
+        return decodeTime.quantileNanos(0.99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getDetectorTimeP99Micros() {
+        return detectorTime.quantileNanos(0.99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getDataLatencyP50Millis() {
+        return dataLatency.quantileNanos(0.5) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getDataLatencyP99Millis() {
+        return dataLatency.quantileNanos(0.99) / NANOS_PER_MILLI;
+    }
+}
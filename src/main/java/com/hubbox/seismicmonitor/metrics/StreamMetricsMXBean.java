@@ -0,0 +1,19 @@
+package com.hubbox.seismicmonitor.metrics;
+
+public interface StreamMetricsMXBean {
+    long getPacketsReceived();
+
+    long getSamplesReceived();
+
+    double getPacketsPerSecond();
+
+    double getSamplesPerSecond();
+
+    double getDecodeTimeP99Micros();
+
+    double getDetectorTimeP99Micros();
+
+    double getDataLatencyP50Millis();
+
+    double getDataLatencyP99Millis();
+}
@@ -0,0 +1,15 @@
+package com.hubbox.seismicmonitor.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Coincident triggers of several stations. {@code weight} is the summed weight of the
+ * {@code stations} (as {@code NET_STA}) that triggered within the coincidence window.
+ */
+public record NetworkEvent(
+    Instant firstOnset,
+    Instant lastOnset,
+    double weight,
+    List<String> stations) {
+}
@@ -0,0 +1,73 @@
+package com.hubbox.seismicmonitor.model;
+
+import lombok.Getter;
+
+/**
+ * Columnar block of consecutive samples of one stream, typically one miniSEED record.
+ */
+@Getter
+public class SampleBlock {
+    private final StreamId streamId;
+    private final long startTimeNanos;
+    private final double sampleRate;
+    private final int length;
+    private final float[] values;
+    private final float[] ratios;
+    private final long[] detections;
+
+    public SampleBlock(StreamId streamId, long startTimeNanos, double sampleRate, int length) {
+        this.streamId = streamId;
+        this.startTimeNanos = startTimeNanos;
+        this.sampleRate = sampleRate;
+        this.length = length;
+        this.values = new float[length];
+        this.ratios = new float[length];
+        this.detections = new long[(length + 63) >>> 6];
+    }
+
+    /**
+     * Time of the sample at {@code index} in epoch nanos, derived from the block start and sample rate.
+     */
+    public long timeNanosAt(int index) {
+        if (sampleRate <= 0) {
+            return startTimeNanos;
+        }
+        return startTimeNanos + Math.round(index * 1_000_000_000.0 / sampleRate);
+    }
+
+    public long endTimeNanos() {
+        return timeNanosAt(Math.max(length - 1, 0));
+    }
+
+    public void markDetected(int index) {
+        detections[index >>> 6] |= 1L << index;
+    }
+
+    public boolean isDetected(int index) {
+        return (detections[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return index of the first detected sample, or -1 if the block has no detection
+     */
+    public int firstDetection() {
+        for (int word = 0; word < detections.length; word++) {
+            if (detections[word] != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(detections[word]);
+            }
+        }
+        return -1;
+    }
+
+    public boolean hasDetection() {
+        return firstDetection() >= 0;
+    }
+
+    public float lastValue() {
+        return length > 0 ? values[length - 1] : 0f;
+    }
+
+    public float lastRatio() {
+        return length > 0 ? ratios[length - 1] : 0f;
+    }
+}
@@ -1,14 +1,25 @@
 package com.hubbox.seismicmonitor.model;
 
+import java.time.Duration;
 import java.time.Instant;
 import lombok.Builder;
 
+/**
+ * One trigger of a stream, from the onset until the ratio fell back below the trigger-off
+ * threshold. Peak values are taken over the triggered samples.
+ */
 @Builder
 public record SeismicEvent(
-    Instant detectionTime,
-    double magnitude,
-    double staLtaRatio,
+    Instant onsetTime,
+    Instant endTime,
+    double peakRatio,
+    double peakAmplitude,
     String network,
     String station,
+    String location,
     String channel) {
+
+    public Duration duration() {
+        return Duration.between(onsetTime, endTime);
+    }
 }
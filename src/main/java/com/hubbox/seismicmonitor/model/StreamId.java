@@ -0,0 +1,13 @@
+package com.hubbox.seismicmonitor.model;
+
+public record StreamId(
+    String network,
+    String station,
+    String location,
+    String channel) {
+
+    @Override
+    public String toString() {
+        return network + "." + station + "." + location + "." + channel;
+    }
+}
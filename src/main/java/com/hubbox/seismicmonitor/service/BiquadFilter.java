@@ -0,0 +1,139 @@
+package com.hubbox.seismicmonitor.service;
+
+import java.util.Arrays;
+
+/**
+ * Cascade of second order IIR sections (transposed direct form II) designed as Butterworth
+ * filters with the bilinear transform. Coefficients and state are kept in primitive arrays and
+ * the state persists across calls, so consecutive records of a stream are filtered without
+ * allocation and without discontinuities. Only even orders are supported.
+ */
+public class BiquadFilter {
+    private static final double STATE_FLOOR = 1e-30;
+
+    private final double[] b0;
+    private final double[] b1;
+    private final double[] b2;
+    private final double[] a1;
+    private final double[] a2;
+    private final double[] z1;
+    private final double[] z2;
+
+    private BiquadFilter(int sections) {
+        b0 = new double[sections];
+        b1 = new double[sections];
+        b2 = new double[sections];
+        a1 = new double[sections];
+        a2 = new double[sections];
+        z1 = new double[sections];
+        z2 = new double[sections];
+    }
+
+    public static BiquadFilter highpass(double cornerHz, double sampleRate, int order) {
+        BiquadFilter filter = new BiquadFilter(sectionCount(order));
+        filter.designHighpass(0, cornerHz, sampleRate, order);
+        return filter;
+    }
+
+    public static BiquadFilter lowpass(double cornerHz, double sampleRate, int order) {
+        BiquadFilter filter = new BiquadFilter(sectionCount(order));
+        filter.designLowpass(0, cornerHz, sampleRate, order);
+        return filter;
+    }
+
+    /**
+     * Highpass at {@code lowHz} followed by lowpass at {@code highHz}, each of the given order.
+     */
+    public static BiquadFilter bandpass(double lowHz, double highHz, double sampleRate, int order) {
+        if (lowHz >= highHz) {
+            throw new IllegalArgumentException("Bandpass corners must be increasing: " + lowHz + " - " + highHz);
+        }
+        int sections = sectionCount(order);
+        BiquadFilter filter = new BiquadFilter(2 * sections);
+        filter.designHighpass(0, lowHz, sampleRate, order);
+        filter.designLowpass(sections, highHz, sampleRate, order);
+        return filter;
+    }
+
+    private static int sectionCount(int order) {
+        if (order < 2 || order % 2 != 0) {
+            throw new IllegalArgumentException("Filter order must be even and at least 2: " + order);
+        }
+        return order / 2;
+    }
+
+    private static void checkCorner(double cornerHz, double sampleRate) {
+        if (cornerHz <= 0 || cornerHz >= sampleRate / 2) {
+            throw new IllegalArgumentException("Corner " + cornerHz + " Hz outside (0, " + sampleRate / 2 + ") Hz");
+        }
+    }
+
+    /**
+     * Q of section {@code k} of an order {@code order} Butterworth filter.
+     */
+    private static double butterworthQ(int k, int order) {
+        return 1.0 / (2.0 * Math.cos(Math.PI * (2 * k + 1) / (2.0 * order)));
+    }
+
+    private void designHighpass(int first, double cornerHz, double sampleRate, int order) {
+        checkCorner(cornerHz, sampleRate);
+        double w0 = 2 * Math.PI * cornerHz / sampleRate;
+        double cos = Math.cos(w0);
+        for (int k = 0; k < order / 2; k++) {
+            double alpha = Math.sin(w0) / (2 * butterworthQ(k, order));
+            setSection(first + k, (1 + cos) / 2, -(1 + cos), (1 + cos) / 2, 1 + alpha, -2 * cos, 1 - alpha);
+        }
+    }
+
+    private void designLowpass(int first, double cornerHz, double sampleRate, int order) {
+        checkCorner(cornerHz, sampleRate);
+        double w0 = 2 * Math.PI * cornerHz / sampleRate;
+        double cos = Math.cos(w0);
+        for (int k = 0; k < order / 2; k++) {
+            double alpha = Math.sin(w0) / (2 * butterworthQ(k, order));
+            setSection(first + k, (1 - cos) / 2, 1 - cos, (1 - cos) / 2, 1 + alpha, -2 * cos, 1 - alpha);
+        }
+    }
+
+    private void setSection(int s, double nb0, double nb1, double nb2, double na0, double na1, double na2) {
+        b0[s] = nb0 / na0;
+        b1[s] = nb1 / na0;
+        b2[s] = nb2 / na0;
+        a1[s] = na1 / na0;
+        a2[s] = na2 / na0;
+    }
+
+    /**
+     * Filters {@code len} samples of {@code in} into {@code out}; the arrays may be the same.
+     */
+    public void process(float[] in, float[] out, int len) {
+        final int sections = b0.length;
+        // Each sample runs through all sections before the next one, so the CPU can overlap the
+        // otherwise serial recurrences of consecutive sections
+        for (int i = 0; i < len; i++) {
+            double x = in[i];
+            for (int s = 0; s < sections; s++) {
+                double y = b0[s] * x + z1[s];
+                z1[s] = b1[s] * x - a1[s] * y + z2[s];
+                z2[s] = b2[s] * x - a2[s] * y;
+                x = y;
+            }
+            out[i] = (float) x;
+        }
+
+        // A decaying state on silent input would otherwise reach the slow subnormal range
+        for (int s = 0; s < sections; s++) {
+            if (Math.abs(z1[s]) < STATE_FLOOR) {
+                z1[s] = 0;
+            }
+            if (Math.abs(z2[s]) < STATE_FLOOR) {
+                z2[s] = 0;
+            }
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(z1, 0);
+        Arrays.fill(z2, 0);
+    }
+}
@@ -0,0 +1,28 @@
+package com.hubbox.seismicmonitor.service;
+
+/**
+ * Block kernels of the STA/LTA detectors. The characteristic function {@code |x|} is accumulated
+ * into prefix sums, and a window sum is the difference of two prefix sums, so the STA and LTA of
+ * every sample come from three loads instead of a running update. Implementations are selected by
+ * {@link CharacteristicFunctions}.
+ */
+public interface CharacteristicFunction {
+
+    /**
+     * Writes {@code prefix[to + i] = prefix[to + i - 1] + |samples[off + i]|} for the {@code len}
+     * samples; {@code prefix[to - 1]} holds the sum before the first one.
+     */
+    void accumulate(float[] samples, int off, int len, double[] prefix, int to);
+
+    /**
+     * Writes the STA/LTA ratio of every prefix index in {@code [from, to)} to {@code ratios},
+     * starting at {@code out}. Both windows must fit before {@code from}; a ratio is 0 when the
+     * LTA sum is 0.
+     *
+     * @return number of ratios above {@code threshold}
+     */
+    int ratios(double[] prefix, int from, int to, int staWindow, int ltaWindow, double threshold,
+               float[] ratios, int out);
+
+    String name();
+}
@@ -0,0 +1,57 @@
+package com.hubbox.seismicmonitor.service;
+
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chooses the {@link CharacteristicFunction} once at startup. The Vector API implementation is
+ * used when the JVM was started with {@code --add-modules jdk.incubator.vector}, unless
+ * {@value #VECTOR_PROPERTY} is {@code false}; otherwise the scalar loops are used.
+ */
+@Slf4j
+@UtilityClass
+public class CharacteristicFunctions {
+    public static final String VECTOR_PROPERTY = "seismicmonitor.vector";
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_IMPLEMENTATION =
+        "com.hubbox.seismicmonitor.service.VectorCharacteristicFunction";
+
+    private static final CharacteristicFunction SELECTED = select();
+
+    /**
+     * The implementation used by the detectors.
+     */
+    public static CharacteristicFunction get() {
+        return SELECTED;
+    }
+
+    public static CharacteristicFunction scalar() {
+        return ScalarCharacteristicFunction.INSTANCE;
+    }
+
+    /**
+     * The Vector API implementation, if the incubator module is present and usable on this CPU.
+     */
+    public static Optional<CharacteristicFunction> vector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            // Loaded reflectively so the class never links against a module that is not there
+            Class<?> type = Class.forName(VECTOR_IMPLEMENTATION);
+            return Optional.of((CharacteristicFunction) type.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            log.warn("Vector API detector kernels unavailable", e);
+            return Optional.empty();
+        }
+    }
+
+    private static CharacteristicFunction select() {
+        CharacteristicFunction selected = Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+            ? vector().orElse(scalar())
+            : scalar();
+        log.info("Using {} STA/LTA kernels", selected.name());
+        return selected;
+    }
+}
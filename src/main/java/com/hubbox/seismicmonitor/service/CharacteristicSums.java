@@ -0,0 +1,89 @@
+package com.hubbox.seismicmonitor.service;
+
+/**
+ * Prefix sums of the characteristic function of one stream. The array holds the sums of at least
+ * the last {@code window} samples followed by room for new blocks; when a block no longer fits,
+ * the last {@code window} sums are moved to the front and rebased so the newest is 0, which keeps
+ * the magnitudes (and the precision of window differences) bounded.
+ */
+final class CharacteristicSums {
+    private static final int BLOCK_CAPACITY = 4096;
+
+    private final CharacteristicFunction function;
+    // One extra slot so a full window difference never reaches before the array
+    private final int window;
+    private double[] sums;
+    private int end;
+    private long filled;
+
+    CharacteristicSums(CharacteristicFunction function, int longestWindow) {
+        this.function = function;
+        this.window = longestWindow + 1;
+        this.sums = new double[window + BLOCK_CAPACITY];
+        this.end = window;
+    }
+
+    /**
+     * Appends the characteristic values of {@code len} samples.
+     *
+     * @return index in {@link #sums()} of the first appended sum
+     */
+    int append(float[] samples, int off, int len) {
+        if (end + len > sums.length) {
+            compact(len);
+        }
+        int start = end;
+        function.accumulate(samples, off, len, sums, start);
+        end += len;
+        filled += len;
+        return start;
+    }
+
+    private void compact(int len) {
+        double[] current = sums;
+        double newest = current[end - 1];
+        double[] target = current.length < window + len
+            ? new double[window + Math.max(len, BLOCK_CAPACITY)]
+            : current;
+        for (int j = 0, from = end - window; j < window; j++) {
+            target[j] = current[from + j] - newest;
+        }
+        sums = target;
+        end = window;
+    }
+
+    double[] sums() {
+        return sums;
+    }
+
+    CharacteristicFunction function() {
+        return function;
+    }
+
+    /**
+     * Index in {@link #sums()} of the first sum of the last appended block of {@code len} samples.
+     */
+    int blockStart(int len) {
+        return end - len;
+    }
+
+    long filled() {
+        return filled;
+    }
+
+    /**
+     * Number of leading samples of the last appended block of {@code len} samples for which fewer
+     * than {@code length} samples had been seen.
+     */
+    int incomplete(int len, int length) {
+        long before = filled - len;
+        return (int) Math.max(0, Math.min(len, length - 1 - before));
+    }
+
+    /**
+     * Sum of the characteristic values of the newest {@code length} samples.
+     */
+    double windowSum(int length) {
+        return sums[end - 1] - sums[end - 1 - length];
+    }
+}
@@ -0,0 +1,375 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.model.NetworkEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Network coincidence stage. Station trigger onsets are aligned on record time and a
+ * {@link NetworkEvent} is declared once the summed weight of the stations that triggered within
+ * the window reaches the threshold. Each station ({@code NET_STA}, across its channels) counts
+ * once per window with its latest onset.
+ * <p>
+ * Onsets are kept in a ring of {@value #BUCKETS_PER_WINDOW} + 1 time buckets, each holding the
+ * weight of the stations whose latest onset falls into it, so entering the ring costs O(1)
+ * regardless of the number of stations; the window is therefore resolved to
+ * 1/{@value #BUCKETS_PER_WINDOW} of its length. After a declaration the next one needs the window sum to fall below the threshold
+ * first.
+ * <p>
+ * Backfill and replay deliver data in bursts per station, so trigger onsets do not arrive in time
+ * order across stations. Onsets are therefore held until the watermark, the oldest latest data time
+ * ({@link #onData}) of the participating streams, has passed them, and enter the ring in onset order.
+ * A stream stops participating while it delivers no data for {@value #DEFAULT_IDLE_SECONDS} s of
+ * wall time, so a dead station does not hold back the others; configured stations that have not sent
+ * any data yet hold the watermark for that long after the first data arrives. Only onsets that are
+ * older than the window once they are released are ignored.
+ * <p>
+ * The streams are kept in a min-heap on their latest data time, updated in place as data arrives,
+ * and idle streams are dropped from its top when the watermark is read. A record therefore costs
+ * O(log streams), a trigger O(log held onsets) to hold and release, and neither scans the stations.
+ * <p>
+ * Not thread safe; used from the ingest thread.
+ */
+@Slf4j
+public class CoincidenceTrigger {
+    private static final int BUCKETS_PER_WINDOW = 8;
+    private static final int RING_SIZE = BUCKETS_PER_WINDOW + 1;
+    private static final int INITIAL_STATIONS = 64;
+    private static final long NO_ONSET = Long.MIN_VALUE;
+    private static final long NO_DATA = Long.MIN_VALUE;
+    private static final int DEFAULT_IDLE_SECONDS = 30;
+
+    private final long bucketNanos;
+    private final double threshold;
+    private final Map<String, Double> weights;
+    private final Consumer<NetworkEvent> listener;
+    private final long idleNanos;
+    private final LongSupplier clock;
+
+    private final Map<String, Integer> stationIndex = new HashMap<>();
+    private String[] stationNames = new String[INITIAL_STATIONS];
+    private double[] stationWeights = new double[INITIAL_STATIONS];
+    private long[] lastOnset = new long[INITIAL_STATIONS];
+    // Configured stations whose first data has not arrived yet
+    private boolean[] stationAwaited = new boolean[INITIAL_STATIONS];
+    private int awaitedStations;
+
+    private final Map<StreamId, Integer> streamIndex = new HashMap<>();
+    private int[] streamStation = new int[INITIAL_STATIONS];
+    private long[] streamDataTime = new long[INITIAL_STATIONS];
+    private long[] streamArrival = new long[INITIAL_STATIONS];
+    // Min-heap of the participating streams on streamDataTime, with each stream's heap slot (-1: absent)
+    private int[] heap = new int[INITIAL_STATIONS];
+    private int heapSize;
+    private int[] heapSlot = new int[INITIAL_STATIONS];
+    private long firstArrival = NO_DATA;
+    private long watermark = Long.MIN_VALUE;
+    private final PriorityQueue<PendingOnset> pending =
+        new PriorityQueue<>(Comparator.comparingLong(PendingOnset::onsetNanos));
+
+    private final double[] bucketWeight = new double[RING_SIZE];
+    private final int[][] bucketStations = new int[RING_SIZE][8];
+    private final int[] bucketSize = new int[RING_SIZE];
+    private long newestBucket = Long.MIN_VALUE;
+    private double windowWeight;
+    private boolean declared;
+
+    private record PendingOnset(StreamId streamId, long onsetNanos) {
+    }
+
+    /**
+     * @param expectedStations {@code NET_STA} of the stations expected to send data, which hold the
+     *                         watermark until their first data arrives or they count as idle
+     */
+    public CoincidenceTrigger(double windowSeconds, double threshold, Map<String, Double> weights,
+                              Collection<String> expectedStations, Consumer<NetworkEvent> listener) {
+        this(windowSeconds, threshold, weights, expectedStations, listener,
+            DEFAULT_IDLE_SECONDS * 1_000_000_000L, System::nanoTime);
+    }
+
+    CoincidenceTrigger(double windowSeconds, double threshold, Map<String, Double> weights,
+                       Collection<String> expectedStations, Consumer<NetworkEvent> listener,
+                       long idleNanos, LongSupplier clock) {
+        this.bucketNanos = Math.max(1, Math.round(windowSeconds * 1_000_000_000L / BUCKETS_PER_WINDOW));
+        this.threshold = threshold;
+        this.weights = Map.copyOf(weights);
+        this.listener = listener;
+        this.idleNanos = idleNanos;
+        this.clock = clock;
+        Arrays.fill(lastOnset, NO_ONSET);
+        for (String station : expectedStations) {
+            int index = stationIndex(station);
+            if (!stationAwaited[index]) {
+                stationAwaited[index] = true;
+                awaitedStations++;
+            }
+        }
+    }
+
+    /**
+     * Records that {@code streamId} has delivered (and run through its detector) data up to
+     * {@code dataEndNanos}, and releases the held onsets the watermark has passed.
+     */
+    public void onData(StreamId streamId, long dataEndNanos) {
+        int stream = streamIndex(streamId);
+        long now = clock.getAsLong();
+        if (firstArrival == NO_DATA) {
+            firstArrival = now;
+        }
+        streamArrival[stream] = now;
+        if (heapSlot[stream] < 0) {
+            streamDataTime[stream] = Math.max(streamDataTime[stream], dataEndNanos);
+            heapAdd(stream);
+        } else if (dataEndNanos > streamDataTime[stream]) {
+            streamDataTime[stream] = dataEndNanos;
+            siftDown(heapSlot[stream]);
+        }
+        int station = streamStation[stream];
+        if (stationAwaited[station]) {
+            stationAwaited[station] = false;
+            awaitedStations--;
+        }
+        if (!pending.isEmpty()) {
+            advanceWatermark(now);
+        }
+    }
+
+    public void onTrigger(StreamId streamId, long onsetNanos) {
+        if (onsetNanos <= watermark) {
+            accept(streamId, onsetNanos);
+        } else {
+            pending.add(new PendingOnset(streamId, onsetNanos));
+        }
+    }
+
+    private void advanceWatermark(long now) {
+        if (awaitedStations > 0 && now - firstArrival <= idleNanos) {
+            return;
+        }
+        // An idle stream only matters while it holds the minimum; it rejoins with its next data
+        while (heapSize > 0 && now - streamArrival[heap[0]] > idleNanos) {
+            heapRemoveTop();
+        }
+        if (heapSize > 0 && streamDataTime[heap[0]] > watermark) {
+            watermark = streamDataTime[heap[0]];
+        }
+        while (!pending.isEmpty() && pending.peek().onsetNanos() <= watermark) {
+            PendingOnset onset = pending.poll();
+            accept(onset.streamId(), onset.onsetNanos());
+        }
+    }
+
+    private void accept(StreamId streamId, long onsetNanos) {
+        long bucket = Math.floorDiv(onsetNanos, bucketNanos);
+        if (newestBucket == Long.MIN_VALUE) {
+            newestBucket = bucket;
+        } else if (bucket > newestBucket) {
+            advanceTo(bucket);
+        }
+        long oldestBucket = newestBucket - BUCKETS_PER_WINDOW;
+        if (bucket < oldestBucket) {
+            log.debug("Ignoring late trigger of {} at {}", streamId, Instant.ofEpochSecond(0, onsetNanos));
+            return;
+        }
+
+        int station = streamStation[streamIndex(streamId)];
+        double weight = stationWeights[station];
+        long previous = lastOnset[station];
+        if (previous != NO_ONSET) {
+            long previousBucket = Math.floorDiv(previous, bucketNanos);
+            if (previousBucket >= oldestBucket) {
+                if (onsetNanos <= previous) {
+                    return;
+                }
+                if (previousBucket == bucket) {
+                    lastOnset[station] = onsetNanos;
+                    return;
+                }
+                // Already counted in this window: move the station to its newer onset
+                bucketWeight[slot(previousBucket)] -= weight;
+                windowWeight -= weight;
+            }
+        }
+
+        lastOnset[station] = onsetNanos;
+        int slot = slot(bucket);
+        addStation(slot, station);
+        bucketWeight[slot] += weight;
+        windowWeight += weight;
+
+        if (!declared && windowWeight >= threshold) {
+            declared = true;
+            declare();
+        }
+    }
+
+    private void advanceTo(long bucket) {
+        long steps = Math.min(bucket - newestBucket, RING_SIZE);
+        for (long i = 1; i <= steps; i++) {
+            int slot = slot(newestBucket + i);
+            bucketWeight[slot] = 0;
+            bucketSize[slot] = 0;
+        }
+        newestBucket = bucket;
+
+        // Re-summing the few buckets avoids drift from repeated floating point subtraction
+        double sum = 0;
+        for (double weight : bucketWeight) {
+            sum += weight;
+        }
+        windowWeight = sum;
+        if (windowWeight < threshold) {
+            declared = false;
+        }
+    }
+
+    private void declare() {
+        List<String> stations = new ArrayList<>();
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (long bucket = newestBucket - BUCKETS_PER_WINDOW; bucket <= newestBucket; bucket++) {
+            int slot = slot(bucket);
+            for (int i = 0; i < bucketSize[slot]; i++) {
+                int station = bucketStations[slot][i];
+                long onset = lastOnset[station];
+                // Stations that moved to a newer onset are listed again in a later bucket
+                if (Math.floorDiv(onset, bucketNanos) == bucket) {
+                    stations.add(stationNames[station]);
+                    first = Math.min(first, onset);
+                    last = Math.max(last, onset);
+                }
+            }
+        }
+
+        NetworkEvent event = new NetworkEvent(
+            Instant.ofEpochSecond(0, first),
+            Instant.ofEpochSecond(0, last),
+            windowWeight,
+            List.copyOf(stations)
+        );
+        log.info("Network event: {} stations, weight {}, first onset {}",
+            stations.size(), String.format("%.2f", windowWeight), event.firstOnset());
+        listener.accept(event);
+    }
+
+    private int streamIndex(StreamId streamId) {
+        Integer cached = streamIndex.get(streamId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int next = streamIndex.size();
+        if (next == streamStation.length) {
+            int capacity = next * 2;
+            streamStation = Arrays.copyOf(streamStation, capacity);
+            streamDataTime = Arrays.copyOf(streamDataTime, capacity);
+            streamArrival = Arrays.copyOf(streamArrival, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            heapSlot = Arrays.copyOf(heapSlot, capacity);
+        }
+        streamStation[next] = stationIndex(streamId.network() + "_" + streamId.station());
+        streamDataTime[next] = NO_DATA;
+        heapSlot[next] = -1;
+        streamIndex.put(streamId, next);
+        return next;
+    }
+
+    private int stationIndex(String name) {
+        Integer index = stationIndex.get(name);
+        if (index != null) {
+            return index;
+        }
+
+        int next = stationIndex.size();
+        if (next == stationNames.length) {
+            int capacity = next * 2;
+            stationNames = Arrays.copyOf(stationNames, capacity);
+            stationWeights = Arrays.copyOf(stationWeights, capacity);
+            lastOnset = Arrays.copyOf(lastOnset, capacity);
+            Arrays.fill(lastOnset, next, capacity, NO_ONSET);
+            stationAwaited = Arrays.copyOf(stationAwaited, capacity);
+        }
+        stationNames[next] = name;
+        stationWeights[next] = weights.getOrDefault(name, 1.0);
+        stationIndex.put(name, next);
+        return next;
+    }
+
+    private void heapAdd(int stream) {
+        heap[heapSize] = stream;
+        heapSlot[stream] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private void heapRemoveTop() {
+        heapSlot[heap[0]] = -1;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapSlot[heap[0]] = 0;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int slot) {
+        int stream = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (streamDataTime[heap[parent]] <= streamDataTime[stream]) {
+                break;
+            }
+            placeInHeap(heap[parent], slot);
+            slot = parent;
+        }
+        placeInHeap(stream, slot);
+    }
+
+    private void siftDown(int slot) {
+        int stream = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && streamDataTime[heap[child + 1]] < streamDataTime[heap[child]]) {
+                child++;
+            }
+            if (streamDataTime[stream] <= streamDataTime[heap[child]]) {
+                break;
+            }
+            placeInHeap(heap[child], slot);
+            slot = child;
+        }
+        placeInHeap(stream, slot);
+    }
+
+    private void placeInHeap(int stream, int slot) {
+        heap[slot] = stream;
+        heapSlot[stream] = slot;
+    }
+
+    private void addStation(int slot, int station) {
+        int size = bucketSize[slot];
+        if (size == bucketStations[slot].length) {
+            bucketStations[slot] = Arrays.copyOf(bucketStations[slot], size * 2);
+        }
+        bucketStations[slot][size] = station;
+        bucketSize[slot] = size + 1;
+    }
+
+    private static int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) RING_SIZE);
+    }
+}
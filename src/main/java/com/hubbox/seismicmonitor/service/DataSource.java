@@ -0,0 +1,25 @@
+package com.hubbox.seismicmonitor.service;
+
+/**
+ * Producer of miniSEED data records for the processing pipeline. A source delivers records from a
+ * single thread of its own, so the sink may hand them on to single-producer queues.
+ */
+public interface DataSource {
+
+    /**
+     * Starts delivering records to {@code sink} in the background. Calling start on a running
+     * source has no effect.
+     */
+    void start(RecordSink sink);
+
+    /**
+     * Stops delivering records and waits for the delivering thread to finish, so no record reaches
+     * the sink after this returns and whatever the sink writes to may be closed.
+     */
+    void stop();
+
+    /**
+     * Short description used in logs and status messages.
+     */
+    String describe();
+}
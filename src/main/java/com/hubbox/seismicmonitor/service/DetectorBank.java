@@ -0,0 +1,128 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.DetectorParameters;
+import com.hubbox.seismicmonitor.metrics.DetectorMetrics;
+import com.hubbox.seismicmonitor.metrics.PipelineMetrics;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates several STA/LTA parameter sets over the same samples of one stream in a single pass.
+ * All sets share the prefix sums of the characteristic function ({@link CharacteristicSums}),
+ * computed once per block, so a set costs three loads and a division per sample instead of
+ * maintaining its own window sums. Within a {@link StreamProcessor} these are the sums of the
+ * primary {@link StaLtaService}, so the bank adds no pass over the samples of its own. Each set has
+ * its own {@link TriggerStateMachine}; its triggers and events are counted in
+ * {@link PipelineMetrics} and logged, and do not reach the primary event pipeline.
+ * <p>
+ * Used only from the ingest thread.
+ */
+@Slf4j
+public class DetectorBank {
+    private final int sets;
+    private final int[] staWindows;
+    private final int[] ltaWindows;
+    private final double[] thresholds;
+    private final TriggerStateMachine[] triggers;
+    private float[][] ratios = new float[0][0];
+    private final int longestWindow;
+    // Only for standalone use, created on the first call of process(float[], int, SampleBlock)
+    private CharacteristicSums ownSums;
+
+    public DetectorBank(StreamId streamId, AppConfig config, List<DetectorParameters> parameters,
+                        PipelineMetrics metrics) {
+        this.sets = parameters.size();
+        this.staWindows = new int[sets];
+        this.ltaWindows = new int[sets];
+        this.thresholds = new double[sets];
+        this.triggers = new TriggerStateMachine[sets];
+
+        int maxWindow = 0;
+        for (int k = 0; k < sets; k++) {
+            DetectorParameters set = parameters.get(k);
+            staWindows[k] = set.staWindow();
+            ltaWindows[k] = set.ltaWindow();
+            thresholds[k] = set.threshold();
+            maxWindow = Math.max(maxWindow, Math.max(set.staWindow(), set.ltaWindow()));
+
+            AppConfig setConfig = config.toBuilder()
+                .threshold(set.threshold())
+                .triggerOffThreshold(set.triggerOffThreshold())
+                .build();
+            triggers[k] = new TriggerStateMachine(streamId, set.label(), setConfig,
+                new CountingListener(set.label(), metrics.detector(set.label())));
+        }
+        this.longestWindow = maxWindow;
+    }
+
+    /**
+     * Longest STA or LTA window of the parameter sets; shared sums must keep at least this many samples.
+     */
+    public int longestWindow() {
+        return longestWindow;
+    }
+
+    /**
+     * Runs every parameter set over the first {@code len} (filtered) {@code samples} of {@code block},
+     * computing the characteristic sums itself. For a bank used without a primary detector.
+     */
+    public void process(float[] samples, int len, SampleBlock block) {
+        if (ownSums == null) {
+            ownSums = new CharacteristicSums(CharacteristicFunctions.get(), longestWindow);
+        }
+        ownSums.append(samples, 0, len);
+        process(ownSums, len, block);
+    }
+
+    /**
+     * Runs every parameter set over the last {@code len} samples appended to {@code sums}, which
+     * must keep at least {@link #longestWindow()} samples.
+     */
+    void process(CharacteristicSums sums, int len, SampleBlock block) {
+        if (ratios.length == 0 || ratios[0].length < len) {
+            ratios = new float[sets][Math.max(len, 512)];
+        }
+        CharacteristicFunction function = sums.function();
+        int start = sums.blockStart(len);
+        double[] prefix = sums.sums();
+
+        for (int k = 0; k < sets; k++) {
+            float[] setRatios = ratios[k];
+            int skipped = sums.incomplete(len, ltaWindows[k]);
+            Arrays.fill(setRatios, 0, skipped, 0f);
+            int detections = function.ratios(prefix, start + skipped, start + len, staWindows[k], ltaWindows[k],
+                thresholds[k], setRatios, skipped);
+            if (detections > 0 || triggers[k].isTriggered()) {
+                triggers[k].process(block, setRatios, false);
+            }
+        }
+    }
+
+    private static final class CountingListener implements TriggerListener {
+        private final String detector;
+        private final DetectorMetrics metrics;
+
+        private CountingListener(String detector, DetectorMetrics metrics) {
+            this.detector = detector;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void triggerOn(StreamId streamId, long onsetNanos) {
+            metrics.recordTrigger();
+        }
+
+        @Override
+        public void eventCompleted(SeismicEvent event) {
+            metrics.recordEvent();
+            log.info("Detector {} event on {}.{}.{}.{}: onset {}, peak STA/LTA {}", detector,
+                event.network(), event.station(), event.location(), event.channel(),
+                event.onsetTime(), String.format("%.2f", event.peakRatio()));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the events of an {@link EventStore} in a time range as a CSV or QuakeML 1.2 catalogue.
+ * Events are read from the store and written one at a time, so memory use does not depend on the
+ * size of the range.
+ * <p>
+ * QuakeML has no notion of an unlocated station trigger; each event becomes an {@code event} holding
+ * one {@code pick} at the onset and one {@code amplitude} over the trigger, with the peak STA/LTA in
+ * a comment.
+ */
+@Slf4j
+public class EventCatalogExporter {
+    private static final String ID_PREFIX = "smi:local/seismicmonitor/";
+
+    public enum Format {
+        CSV,
+        QUAKEML;
+
+        public static Format parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final EventStore store;
+
+    public EventCatalogExporter(EventStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Writes the events with {@code from <= onset < to} whose {@code NET_STA} is in {@code stations}
+     * (all stations if empty) to {@code out}, which is flushed but not closed.
+     *
+     * @return number of events written
+     */
+    public long export(Instant from, Instant to, Set<String> stations, Format format, Writer out) throws IOException {
+        BufferedWriter writer = out instanceof BufferedWriter buffered ? buffered : new BufferedWriter(out);
+        long[] written = new long[1];
+        try {
+            writeHeader(format, writer);
+            store.forEach(from, to, event -> {
+                if (!stations.isEmpty() && !stations.contains(event.network() + "_" + event.station())) {
+                    return;
+                }
+                try {
+                    if (format == Format.CSV) {
+                        writeCsv(event, writer);
+                    } else {
+                        writeQuakeMl(event, writer);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0]++;
+            });
+            writeFooter(format, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} events from {} as {}", written[0], store.getFile(), format);
+        return written[0];
+    }
+
+    private static void writeHeader(Format format, Writer writer) throws IOException {
+        if (format == Format.CSV) {
+            writer.write("onset,end,duration_s,network,station,location,channel,peak_ratio,peak_amplitude\n");
+            return;
+        }
+        writer.write("""
+            <?xml version="1.0" encoding="UTF-8"?>
+            <q:quakeml xmlns:q="http://quakeml.org/xmlns/quakeml/1.2" xmlns="http://quakeml.org/xmlns/bed/1.2">
+              <eventParameters publicID="%scatalogue">
+            """.formatted(ID_PREFIX));
+    }
+
+    private static void writeFooter(Format format, Writer writer) throws IOException {
+        if (format == Format.QUAKEML) {
+            writer.write("""
+                  </eventParameters>
+                </q:quakeml>
+                """);
+        }
+    }
+
+    private static void writeCsv(SeismicEvent event, Writer writer) throws IOException {
+        writer.write(event.onsetTime().toString());
+        writer.write(',');
+        writer.write(event.endTime().toString());
+        writer.write(',');
+        writer.write(Double.toString(event.duration().toNanos() / 1e9));
+        writer.write(',');
+        writer.write(event.network());
+        writer.write(',');
+        writer.write(event.station());
+        writer.write(',');
+        writer.write(event.location());
+        writer.write(',');
+        writer.write(event.channel());
+        writer.write(',');
+        writer.write(Double.toString(event.peakRatio()));
+        writer.write(',');
+        writer.write(Double.toString(event.peakAmplitude()));
+        writer.write('\n');
+    }
+
+    private static void writeQuakeMl(SeismicEvent event, Writer writer) throws IOException {
+        // Stream codes are plain ASCII letters and digits, so nothing needs escaping
+        String id = ID_PREFIX + event.network() + "." + event.station() + "." + event.location() + "."
+            + event.channel() + "/" + event.onsetTime().getEpochSecond() + "." + event.onsetTime().getNano();
+        String onset = event.onsetTime().toString();
+        writer.write("""
+                <event publicID="%1$s">
+                  <type>not reported</type>
+                  <comment>
+                    <text>peak STA/LTA %2$s</text>
+                  </comment>
+                  <pick publicID="%1$s/pick">
+                    <time>
+                      <value>%3$s</value>
+                    </time>
+                    <waveformID networkCode="%4$s" stationCode="%5$s" locationCode="%6$s" channelCode="%7$s"/>
+                    <evaluationMode>automatic</evaluationMode>
+                  </pick>
+                  <amplitude publicID="%1$s/amplitude">
+                    <genericAmplitude>
+                      <value>%8$s</value>
+                    </genericAmplitude>
+                    <timeWindow>
+                      <begin>0</begin>
+                      <end>%9$s</end>
+                      <reference>%3$s</reference>
+                    </timeWindow>
+                    <pickID>%1$s/pick</pickID>
+                    <waveformID networkCode="%4$s" stationCode="%5$s" locationCode="%6$s" channelCode="%7$s"/>
+                    <evaluationMode>automatic</evaluationMode>
+                  </amplitude>
+                </event>
+            """.formatted(id, Double.toString(event.peakRatio()), onset,
+            event.network(), event.station(), event.location(), event.channel(),
+            Double.toString(event.peakAmplitude()), Double.toString(event.duration().toNanos() / 1e9)));
+    }
+}
@@ -0,0 +1,327 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of {@link SeismicEvent}s in a memory-mapped file. A {@value #HEADER_BYTES}-byte
+ * header (magic, version, record count, maximum lateness) is followed by {@value #RECORD_BYTES}-byte
+ * records: index time, onset and end (epoch nanos), peak ratio, peak amplitude and the stream codes
+ * as fixed-width ASCII.
+ * <p>
+ * Events are stored in completion order, which is not onset order across streams. The index time of
+ * a record is therefore the running maximum of the onsets, which never decreases and is binary
+ * searched; the header keeps the largest lag of an onset behind it, which bounds the scan at the end
+ * of a time range. Each record is forced to disk before the count that covers it is written, so a
+ * record only becomes visible, also after a crash, once it is complete; events are rare enough that
+ * one sync per append does not matter.
+ * <p>
+ * The file grows in mapped segments of {@value #SEGMENT_RECORDS} records, so an append never remaps
+ * or copies earlier records. One thread appends; any thread may read.
+ */
+@Slf4j
+public final class EventStore implements AutoCloseable {
+    public static final int RECORD_BYTES = 64;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC = 0x534D4556; // "SMEV"
+    private static final int VERSION = 1;
+    private static final int SEGMENT_SHIFT = 16;
+    private static final int SEGMENT_RECORDS = 1 << SEGMENT_SHIFT;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_RECORDS * RECORD_BYTES;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int COUNT_OFFSET = 8;
+    private static final int LATENESS_OFFSET = 16;
+
+    private static final int INDEX_TIME = 0;
+    private static final int ONSET = 8;
+    private static final int END = 16;
+    private static final int PEAK_RATIO = 24;
+    private static final int PEAK_AMPLITUDE = 32;
+    private static final int NETWORK = 40;
+    private static final int NETWORK_LENGTH = 2;
+    private static final int STATION = 42;
+    private static final int STATION_LENGTH = 5;
+    private static final int LOCATION = 47;
+    private static final int LOCATION_LENGTH = 2;
+    private static final int CHANNEL = 49;
+    private static final int CHANNEL_LENGTH = 3;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    // Written before size, so a reader that saw a size also sees the segment holding it
+    private volatile MappedByteBuffer[] segments;
+    private volatile long size;
+    private volatile long maxLatenessNanos;
+    private long lastIndexTime = Long.MIN_VALUE;
+    private final byte[] code = new byte[STATION_LENGTH];
+
+    private EventStore(Path file, FileChannel channel) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        boolean created = channel.size() == 0;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (created) {
+            header.putInt(MAGIC_OFFSET, MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+        } else if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Not an event store (or unsupported version): " + file);
+        }
+
+        long count = header.getLong(COUNT_OFFSET);
+        long available = Math.max(0, (channel.size() - HEADER_BYTES) / RECORD_BYTES);
+        if (count < 0 || count > available) {
+            log.warn("Event store {} claims {} records but holds {}, truncating", file, count, available);
+            count = Math.max(0, Math.min(count, available));
+            header.putLong(COUNT_OFFSET, count);
+        }
+
+        MappedByteBuffer[] mapped = new MappedByteBuffer[(int) ((count + SEGMENT_RECORDS - 1) >>> SEGMENT_SHIFT)];
+        for (int segment = 0; segment < mapped.length; segment++) {
+            mapped[segment] = mapSegment(segment);
+        }
+        this.segments = mapped;
+        this.maxLatenessNanos = header.getLong(LATENESS_OFFSET);
+        this.size = count;
+        if (count > 0) {
+            lastIndexTime = indexTime(count - 1);
+        }
+    }
+
+    /**
+     * Opens the store at {@code file}, creating it (and its directory) if it does not exist.
+     */
+    public static EventStore open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            EventStore store = new EventStore(file, channel);
+            log.info("Opened event store {} with {} events", file, store.size);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private MappedByteBuffer mapSegment(int segment) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + segment * SEGMENT_BYTES, SEGMENT_BYTES);
+    }
+
+    /**
+     * Appends an event in O(1). Must be called from a single thread.
+     *
+     * @return index of the stored event
+     * @throws UncheckedIOException if the file cannot grow or the record cannot be written through;
+     *     the event is then not stored
+     */
+    public long append(SeismicEvent event) {
+        long index = size;
+        int segment = (int) (index >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] current = segments;
+        if (segment == current.length) {
+            current = addSegment(current);
+        }
+
+        long onset = toNanos(event.onsetTime());
+        lastIndexTime = Math.max(lastIndexTime, onset);
+        long lateness = lastIndexTime - onset;
+        if (lateness > maxLatenessNanos) {
+            maxLatenessNanos = lateness;
+            header.putLong(LATENESS_OFFSET, lateness);
+        }
+
+        MappedByteBuffer buffer = current[segment];
+        int base = recordOffset(index);
+        buffer.putLong(base + INDEX_TIME, lastIndexTime);
+        buffer.putLong(base + ONSET, onset);
+        buffer.putLong(base + END, toNanos(event.endTime()));
+        buffer.putDouble(base + PEAK_RATIO, event.peakRatio());
+        buffer.putDouble(base + PEAK_AMPLITUDE, event.peakAmplitude());
+        putCode(buffer, base + NETWORK, NETWORK_LENGTH, event.network());
+        putCode(buffer, base + STATION, STATION_LENGTH, event.station());
+        putCode(buffer, base + LOCATION, LOCATION_LENGTH, event.location());
+        putCode(buffer, base + CHANNEL, CHANNEL_LENGTH, event.channel());
+        // The page holding the count may reach the disk on its own at any time after this
+        buffer.force(base, RECORD_BYTES);
+
+        header.putLong(COUNT_OFFSET, index + 1);
+        size = index + 1;
+        return index;
+    }
+
+    private MappedByteBuffer[] addSegment(MappedByteBuffer[] current) {
+        try {
+            MappedByteBuffer[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = mapSegment(current.length);
+            segments = grown;
+            return grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not grow event store " + file, e);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public SeismicEvent get(long index) {
+        Objects.checkIndex(index, size);
+        return read(segments, index);
+    }
+
+    /**
+     * The newest {@code count} events, oldest first.
+     */
+    public List<SeismicEvent> tail(int count) {
+        long end = size;
+        MappedByteBuffer[] mapped = segments;
+        List<SeismicEvent> events = new ArrayList<>((int) Math.min(count, end));
+        for (long i = Math.max(0, end - count); i < end; i++) {
+            events.add(read(mapped, i));
+        }
+        return events;
+    }
+
+    /**
+     * Passes the events with {@code from <= onset < to} to {@code action} in store order, reading
+     * one record at a time.
+     */
+    public void forEach(Instant from, Instant to, Consumer<SeismicEvent> action) {
+        long end = size;
+        long lateness = maxLatenessNanos;
+        MappedByteBuffer[] mapped = segments;
+        long fromNanos = boundNanos(from);
+        long toNanos = boundNanos(to);
+
+        for (long i = firstIndexAtOrAfter(mapped, fromNanos, end); i < end; i++) {
+            MappedByteBuffer buffer = mapped[(int) (i >>> SEGMENT_SHIFT)];
+            int base = recordOffset(i);
+            // Onsets lag the index time by at most the lateness, so later records all start after to
+            if (buffer.getLong(base + INDEX_TIME) - lateness >= toNanos) {
+                break;
+            }
+            long onset = buffer.getLong(base + ONSET);
+            if (onset >= fromNanos && onset < toNanos) {
+                action.accept(read(mapped, i));
+            }
+        }
+    }
+
+    /**
+     * @return index of the first record whose index time is at or after {@code nanos}; no earlier
+     *     record has an onset at or after it
+     */
+    private long firstIndexAtOrAfter(MappedByteBuffer[] mapped, long nanos, long end) {
+        long low = 0;
+        long high = end;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (mapped[(int) (mid >>> SEGMENT_SHIFT)].getLong(recordOffset(mid) + INDEX_TIME) < nanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long indexTime(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong(recordOffset(index) + INDEX_TIME);
+    }
+
+    private static SeismicEvent read(MappedByteBuffer[] mapped, long index) {
+        MappedByteBuffer buffer = mapped[(int) (index >>> SEGMENT_SHIFT)];
+        int base = recordOffset(index);
+        return new SeismicEvent(
+            Instant.ofEpochSecond(0, buffer.getLong(base + ONSET)),
+            Instant.ofEpochSecond(0, buffer.getLong(base + END)),
+            buffer.getDouble(base + PEAK_RATIO),
+            buffer.getDouble(base + PEAK_AMPLITUDE),
+            getCode(buffer, base + NETWORK, NETWORK_LENGTH),
+            getCode(buffer, base + STATION, STATION_LENGTH),
+            getCode(buffer, base + LOCATION, LOCATION_LENGTH),
+            getCode(buffer, base + CHANNEL, CHANNEL_LENGTH)
+        );
+    }
+
+    private static int recordOffset(long index) {
+        return (int) (index & (SEGMENT_RECORDS - 1)) * RECORD_BYTES;
+    }
+
+    private void putCode(MappedByteBuffer buffer, int offset, int length, String value) {
+        // miniSEED 2 codes are ASCII and never longer than their field
+        String text = value != null ? value : "";
+        for (int i = 0; i < length; i++) {
+            code[i] = i < text.length() ? (byte) text.charAt(i) : 0;
+        }
+        buffer.put(offset, code, 0, length);
+    }
+
+    private static String getCode(MappedByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        int used = 0;
+        while (used < length && bytes[used] != 0) {
+            used++;
+        }
+        return new String(bytes, 0, used, StandardCharsets.US_ASCII);
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * Like {@link #toNanos(Instant)}, but clamps bounds outside the representable range, such as
+     * {@link Instant#MIN} and {@link Instant#MAX}.
+     */
+    private static long boundNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Forces the mapped records and the header to disk and closes the file.
+     */
+    @Override
+    public void close() {
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            header.force();
+            channel.close();
+            log.info("Closed event store {} with {} events", file, size);
+        } catch (IOException e) {
+            log.error("Error closing event store {}", file, e);
+        }
+    }
+}
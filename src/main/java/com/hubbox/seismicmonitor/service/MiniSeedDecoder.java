@@ -0,0 +1,224 @@
+package com.hubbox.seismicmonitor.service;
+
+import edu.sc.seis.seisFile.mseed.Blockette;
+import edu.sc.seis.seisFile.mseed.Blockette1000;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+
+/**
+ * Decodes miniSEED data records into reusable primitive sample arrays.
+ * A decoder instance is not thread safe; the arrays returned by {@link #getSamples()}
+ * are overwritten by the next call to {@link #decode(DataRecord)}.
+ */
+public class MiniSeedDecoder {
+    public static final int ENCODING_INT32 = 3;
+    public static final int ENCODING_FLOAT32 = 4;
+    public static final int ENCODING_STEIM1 = 10;
+    public static final int ENCODING_STEIM2 = 11;
+
+    private static final int FRAME_SIZE = 64;
+    private static final int WORDS_PER_FRAME = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] intSamples = new int[INITIAL_CAPACITY];
+    private float[] samples = new float[INITIAL_CAPACITY];
+
+    // Steim diff integration state
+    private int cursor;
+    private int last;
+    private boolean firstDifference;
+
+    /**
+     * Data encoding of {@code record} from its blockette 1000; records without one are taken to be
+     * Steim1, the SeedLink default.
+     */
+    public static int encodingOf(DataRecord record) {
+        Blockette1000 b1000 = blockette1000(record);
+        return b1000 != null ? b1000.getEncodingFormat() : ENCODING_STEIM1;
+    }
+
+    public static boolean isSupported(int encoding) {
+        return encoding == ENCODING_INT32 || encoding == ENCODING_FLOAT32
+            || encoding == ENCODING_STEIM1 || encoding == ENCODING_STEIM2;
+    }
+
+    public int decode(DataRecord record) {
+        Blockette1000 b1000 = blockette1000(record);
+        return decode(record.getData(), record.getHeader().getNumSamples(),
+            b1000 != null ? b1000.getEncodingFormat() : ENCODING_STEIM1,
+            b1000 == null || b1000.isBigEndian());
+    }
+
+    /**
+     * Decodes {@code numSamples} samples from the data section of a record.
+     *
+     * @return number of samples decoded
+     */
+    public int decode(byte[] data, int numSamples, int encoding, boolean bigEndian) {
+        if (numSamples <= 0) {
+            return 0;
+        }
+        ensureCapacity(numSamples);
+
+        return switch (encoding) {
+            case ENCODING_INT32 -> decodeInt32(data, numSamples, bigEndian);
+            case ENCODING_FLOAT32 -> decodeFloat32(data, numSamples, bigEndian);
+            case ENCODING_STEIM1 -> decodeSteim(data, numSamples, false);
+            case ENCODING_STEIM2 -> decodeSteim(data, numSamples, true);
+            default -> throw new IllegalArgumentException("Unsupported miniSEED encoding: " + encoding);
+        };
+    }
+
+    private static Blockette1000 blockette1000(DataRecord record) {
+        Blockette[] blockettes = record.getBlockettes(1000);
+        return blockettes.length > 0 && blockettes[0] instanceof Blockette1000 b1000 ? b1000 : null;
+    }
+
+    public int[] getIntSamples() {
+        return intSamples;
+    }
+
+    public float[] getSamples() {
+        return samples;
+    }
+
+    private void ensureCapacity(int numSamples) {
+        if (intSamples.length < numSamples) {
+            int capacity = Math.max(numSamples, intSamples.length * 2);
+            intSamples = new int[capacity];
+            samples = new float[capacity];
+        }
+    }
+
+    private int decodeInt32(byte[] data, int numSamples, boolean bigEndian) {
+        int count = Math.min(numSamples, data.length / 4);
+        for (int i = 0; i < count; i++) {
+            int value = readInt(data, i * 4, bigEndian);
+            intSamples[i] = value;
+            samples[i] = value;
+        }
+        return count;
+    }
+
+    private int decodeFloat32(byte[] data, int numSamples, boolean bigEndian) {
+        int count = Math.min(numSamples, data.length / 4);
+        for (int i = 0; i < count; i++) {
+            float value = Float.intBitsToFloat(readInt(data, i * 4, bigEndian));
+            samples[i] = value;
+            intSamples[i] = (int) value;
+        }
+        return count;
+    }
+
+    private int decodeSteim(byte[] data, int numSamples, boolean steim2) {
+        cursor = 0;
+        firstDifference = true;
+        int frames = data.length / FRAME_SIZE;
+
+        for (int frame = 0; frame < frames && cursor < numSamples; frame++) {
+            int base = frame * FRAME_SIZE;
+            int nibbles = readInt(data, base, true);
+            int firstWord = 1;
+            if (frame == 0) {
+                // Word 1 is the forward integration constant (X0), word 2 the reverse constant (Xn)
+                last = readInt(data, base + 4, true);
+                firstWord = 3;
+            }
+
+            for (int word = firstWord; word < WORDS_PER_FRAME && cursor < numSamples; word++) {
+                int nibble = (nibbles >>> (30 - 2 * word)) & 0x3;
+                int value = readInt(data, base + word * 4, true);
+                if (steim2) {
+                    decodeSteim2Word(nibble, value, numSamples);
+                } else {
+                    decodeSteim1Word(nibble, value, numSamples);
+                }
+            }
+        }
+
+        for (int i = 0; i < cursor; i++) {
+            samples[i] = intSamples[i];
+        }
+        return cursor;
+    }
+
+    private void decodeSteim1Word(int nibble, int value, int numSamples) {
+        switch (nibble) {
+            case 1 -> {
+                for (int shift = 24; shift >= 0 && cursor < numSamples; shift -= 8) {
+                    addDifference((byte) (value >>> shift));
+                }
+            }
+            case 2 -> {
+                addDifference((short) (value >>> 16));
+                if (cursor < numSamples) {
+                    addDifference((short) value);
+                }
+            }
+            case 3 -> addDifference(value);
+            default -> {
+                // nibble 0: non-data word
+            }
+        }
+    }
+
+    private void decodeSteim2Word(int nibble, int value, int numSamples) {
+        int dnib = (value >>> 30) & 0x3;
+        switch (nibble) {
+            case 1 -> {
+                for (int shift = 24; shift >= 0 && cursor < numSamples; shift -= 8) {
+                    addDifference((byte) (value >>> shift));
+                }
+            }
+            case 2 -> {
+                switch (dnib) {
+                    case 1 -> addDifferences(value, 1, 30, numSamples);
+                    case 2 -> addDifferences(value, 2, 15, numSamples);
+                    case 3 -> addDifferences(value, 3, 10, numSamples);
+                    default -> throw new IllegalArgumentException("Invalid Steim2 dnib 0 for nibble 2");
+                }
+            }
+            case 3 -> {
+                switch (dnib) {
+                    case 0 -> addDifferences(value, 5, 6, numSamples);
+                    case 1 -> addDifferences(value, 6, 5, numSamples);
+                    case 2 -> addDifferences(value, 7, 4, numSamples);
+                    default -> throw new IllegalArgumentException("Invalid Steim2 dnib 3 for nibble 3");
+                }
+            }
+            default -> {
+                // nibble 0: non-data word
+            }
+        }
+    }
+
+    private void addDifferences(int value, int count, int bits, int numSamples) {
+        int unusedBits = 32 - bits;
+        for (int i = count - 1; i >= 0 && cursor < numSamples; i--) {
+            // Shift the field to the top of the int, then arithmetic shift back to sign extend
+            addDifference((value << (unusedBits - i * bits)) >> unusedBits);
+        }
+    }
+
+    private void addDifference(int difference) {
+        if (firstDifference) {
+            // The first difference refers to the previous record; X0 is the first sample
+            firstDifference = false;
+        } else {
+            last += difference;
+        }
+        intSamples[cursor++] = last;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean bigEndian) {
+        if (bigEndian) {
+            return (data[offset] & 0xFF) << 24
+                | (data[offset + 1] & 0xFF) << 16
+                | (data[offset + 2] & 0xFF) << 8
+                | (data[offset + 3] & 0xFF);
+        }
+        return (data[offset + 3] & 0xFF) << 24
+            | (data[offset + 2] & 0xFF) << 16
+            | (data[offset + 1] & 0xFF) << 8
+            | (data[offset] & 0xFF);
+    }
+}
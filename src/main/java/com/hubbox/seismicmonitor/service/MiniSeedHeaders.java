@@ -0,0 +1,64 @@
+package com.hubbox.seismicmonitor.service;
+
+import edu.sc.seis.seisFile.mseed.Btime;
+import edu.sc.seis.seisFile.mseed.DataHeader;
+import java.time.LocalDate;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class MiniSeedHeaders {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_TENTH_MILLI = 100_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    /**
+     * Record start time (time of the first sample) as nanoseconds since the epoch.
+     */
+    public static long startTimeNanos(DataHeader header) {
+        Btime start = header.getStartBtime();
+        long epochDay = LocalDate.ofYearDay(start.getYear(), start.getDayOfYear()).toEpochDay();
+        long seconds = epochDay * SECONDS_PER_DAY
+            + start.getHour() * 3600L
+            + start.getMin() * 60L
+            + start.getSec();
+        return seconds * NANOS_PER_SECOND + start.getTenthMilli() * NANOS_PER_TENTH_MILLI;
+    }
+
+    /**
+     * Time of the last sample in the record as nanoseconds since the epoch.
+     */
+    public static long lastSampleTimeNanos(DataHeader header) {
+        long start = startTimeNanos(header);
+        double rate = sampleRate(header);
+        if (rate <= 0 || header.getNumSamples() <= 1) {
+            return start;
+        }
+        return start + Math.round((header.getNumSamples() - 1) * NANOS_PER_SECOND / rate);
+    }
+
+    /**
+     * End of the record, one sample period after its last sample, as nanoseconds since the epoch; the
+     * start time of the record that continues it.
+     */
+    public static long endTimeNanos(DataHeader header) {
+        long start = startTimeNanos(header);
+        double rate = sampleRate(header);
+        if (rate <= 0) {
+            return start;
+        }
+        return start + Math.round(header.getNumSamples() * NANOS_PER_SECOND / rate);
+    }
+
+    /**
+     * Nominal sample rate in Hz from the SEED sample rate factor and multiplier.
+     */
+    public static double sampleRate(DataHeader header) {
+        double factor = header.getSampleRateFactor();
+        double multiplier = header.getSampleRateMultiplier();
+        if (factor == 0 || multiplier == 0) {
+            return 0.0;
+        }
+        double rate = factor > 0 ? factor : -1.0 / factor;
+        return multiplier > 0 ? rate * multiplier : rate / -multiplier;
+    }
+}
@@ -0,0 +1,463 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.model.StreamId;
+import edu.sc.seis.seisFile.mseed.DataHeader;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+import edu.sc.seis.seisFile.mseed.SeedFormatException;
+import edu.sc.seis.seisFile.mseed.SeedRecord;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays local miniSEED files through the pipeline. {@code path} may be a single file or a
+ * directory (for example an SDS archive), whose files are merged in record start time order.
+ * <p>
+ * SDS day files ({@code <root>/<YEAR>/<NET>/<STA>/<CHA>.D/<NET>.<STA>.<LOC>.<CHA>.D.<YEAR>.<DOY>}) are
+ * read per stream through an {@link SdsArchiveReader}, which uses the day file indexes to read only
+ * the records of the {@code [from, to]} window. Other files are grouped by the stream of their first
+ * record and read one after the other in start time order, skipping records outside the window.
+ * Either way at most one file per stream is open at a time however many days the directory holds.
+ * <p>
+ * A speed of 1 replays in real time, N replays N times faster and 0 (or less) replays as fast as
+ * the pipeline consumes records.
+ */
+@Slf4j
+public class MiniSeedReplaySource implements DataSource {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String SDS_DATA_TYPE = "D";
+
+    private final Path path;
+    private final double speed;
+    private final Instant from;
+    private final Instant to;
+    private volatile boolean running = false;
+    private Thread replayThread;
+
+    public MiniSeedReplaySource(Path path, double speed) {
+        this(path, speed, Instant.MIN, Instant.MAX);
+    }
+
+    public MiniSeedReplaySource(Path path, double speed, Instant from, Instant to) {
+        this.path = path;
+        this.speed = speed;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public synchronized void start(RecordSink sink) {
+        if (running) {
+            log.warn("Replay already running");
+            return;
+        }
+        running = true;
+        replayThread = new Thread(() -> replay(sink), "mseed-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    private void replay(RecordSink sink) {
+        List<ReplayCursor> cursors = new ArrayList<>();
+        PriorityQueue<ReplayCursor> queue = new PriorityQueue<>(Comparator.comparingLong(ReplayCursor::startNanos));
+        long records = 0;
+        long wallStart = System.nanoTime();
+        try {
+            List<Path> otherFiles = new ArrayList<>();
+            for (SdsStream stream : sdsStreams(listFiles(), otherFiles)) {
+                cursors.add(new SdsCursor(stream, from, to));
+            }
+            for (List<Path> files : filesByStream(otherFiles)) {
+                cursors.add(new StreamCursor(files, from, to));
+            }
+            for (ReplayCursor cursor : cursors) {
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+            log.info("Replaying {} streams: {}", cursors.size(), describe());
+
+            long firstDataNanos = queue.isEmpty() ? 0 : queue.peek().startNanos();
+            while (running && !Thread.currentThread().isInterrupted() && !queue.isEmpty()) {
+                ReplayCursor cursor = queue.poll();
+                DataRecord dataRecord = cursor.current();
+                if (speed > 0) {
+                    pace(wallStart + (long) ((cursor.startNanos() - firstDataNanos) / speed));
+                }
+                try {
+                    sink.accept(dataRecord, cursor.currentBytes());
+                } catch (Exception e) {
+                    log.error("Error processing replayed record", e);
+                }
+                records++;
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error replaying {}", path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            cursors.forEach(ReplayCursor::close);
+            finished();
+        }
+
+        double seconds = (System.nanoTime() - wallStart) / 1e9;
+        log.info("Replay finished: {} records in {} s ({} records/s)", records,
+            String.format("%.1f", seconds), String.format("%.0f", records / Math.max(seconds, 1e-9)));
+    }
+
+    /**
+     * Groups the SDS day files among {@code files} by archive root and stream, keeping the first and
+     * last day of each; the remaining files are added to {@code otherFiles}.
+     */
+    private static Collection<SdsStream> sdsStreams(List<Path> files, List<Path> otherFiles) {
+        Map<String, SdsStream> streams = new HashMap<>();
+        for (Path file : files) {
+            SdsDayFile dayFile = SdsDayFile.parse(file);
+            if (dayFile == null) {
+                otherFiles.add(file);
+                continue;
+            }
+            streams.merge(dayFile.root() + "|" + dayFile.streamId(),
+                new SdsStream(dayFile.root(), dayFile.streamId(), dayFile.day(), dayFile.day()),
+                SdsStream::span);
+        }
+        return streams.values();
+    }
+
+    /**
+     * Groups the files by the stream of their first data record, each group sorted by the start
+     * time of that record. Every file is opened once, briefly, to read it.
+     */
+    private static Collection<List<Path>> filesByStream(List<Path> files) {
+        Map<String, List<FileStart>> streams = new HashMap<>();
+        for (Path file : files) {
+            RecordCursor probe;
+            try {
+                probe = new RecordCursor(file);
+            } catch (IOException e) {
+                log.warn("Skipping {}: {}", file, e.getMessage());
+                continue;
+            }
+            try {
+                if (!probe.advance()) {
+                    log.debug("No data records in {}", file);
+                    continue;
+                }
+                DataHeader header = probe.current.getHeader();
+                String stream = header.getNetworkCode().trim() + "." + header.getStationIdentifier().trim() + "."
+                    + header.getLocationIdentifier().trim() + "." + header.getChannelIdentifier().trim();
+                streams.computeIfAbsent(stream, key -> new ArrayList<>()).add(new FileStart(file, probe.startNanos()));
+            } finally {
+                probe.close();
+            }
+        }
+
+        List<List<Path>> groups = new ArrayList<>(streams.size());
+        for (List<FileStart> group : streams.values()) {
+            group.sort(Comparator.comparingLong(FileStart::startNanos));
+            groups.add(group.stream().map(FileStart::file).toList());
+        }
+        return groups;
+    }
+
+    private synchronized void finished() {
+        if (replayThread == Thread.currentThread()) {
+            running = false;
+            replayThread = null;
+        }
+    }
+
+    private List<Path> listFiles() throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            return files
+                .filter(Files::isRegularFile)
+                .filter(file -> !file.getFileName().toString().endsWith(INDEX_SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private void pace(long targetNanos) throws InterruptedException {
+        long delay = targetNanos - System.nanoTime();
+        if (delay > 0) {
+            Thread.sleep(delay / NANOS_PER_MILLI, (int) (delay % NANOS_PER_MILLI));
+        }
+    }
+
+    private String speedDescription() {
+        return speed > 0 ? speed + "x" : "full speed";
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = replayThread;
+            replayThread = null;
+        }
+        // Joined outside the lock, which finished() needs
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public String describe() {
+        String window = from.equals(Instant.MIN) && to.equals(Instant.MAX) ? "" : " " + from + " - " + to;
+        return "Replay " + path + window + " (" + speedDescription() + ")";
+    }
+
+    private static long boundNanos(Instant instant) {
+        if (instant.equals(Instant.MIN)) {
+            return Long.MIN_VALUE;
+        }
+        if (instant.equals(Instant.MAX)) {
+            return Long.MAX_VALUE;
+        }
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private record FileStart(Path file, long startNanos) {
+    }
+
+    /**
+     * A day file of an SDS archive, recognised by its path.
+     */
+    private record SdsDayFile(Path root, StreamId streamId, LocalDate day) {
+
+        private static SdsDayFile parse(Path file) {
+            String[] parts = file.getFileName().toString().split("\\.", -1);
+            if (parts.length != 7 || !parts[4].equals(SDS_DATA_TYPE)) {
+                return null;
+            }
+            try {
+                StreamId streamId = new StreamId(parts[0], parts[1], parts[2], parts[3]);
+                int year = Integer.parseInt(parts[5]);
+                int dayOfYear = Integer.parseInt(parts[6]);
+                // <root>/<YEAR>/<NET>/<STA>/<CHA>.D/<file>
+                Path root = file.toAbsolutePath();
+                for (int level = 0; level < 5 && root != null; level++) {
+                    root = root.getParent();
+                }
+                if (root == null
+                    || !SdsArchiveWriter.dayFilePath(root, streamId, year, dayOfYear).equals(file.toAbsolutePath())) {
+                    return null;
+                }
+                return new SdsDayFile(root, streamId, LocalDate.ofYearDay(year, dayOfYear));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    private record SdsStream(Path root, StreamId streamId, LocalDate firstDay, LocalDate lastDay) {
+
+        private static SdsStream span(SdsStream a, SdsStream b) {
+            return new SdsStream(a.root, a.streamId,
+                a.firstDay.isBefore(b.firstDay) ? a.firstDay : b.firstDay,
+                a.lastDay.isAfter(b.lastDay) ? a.lastDay : b.lastDay);
+        }
+    }
+
+    private interface ReplayCursor {
+
+        boolean advance();
+
+        DataRecord current();
+
+        /**
+         * The current record as stored, or null if only the parsed record is available.
+         */
+        byte[] currentBytes();
+
+        long startNanos();
+
+        void close();
+    }
+
+    /**
+     * Reads one stream of an SDS archive through its day file indexes.
+     */
+    private static final class SdsCursor implements ReplayCursor {
+        private final StreamId streamId;
+        private final SdsArchiveReader.RecordCursor records;
+
+        private SdsCursor(SdsStream stream, Instant from, Instant to) {
+            this.streamId = stream.streamId();
+            // Limit the window to the days on disk, so an open window does not walk every possible day
+            Instant firstDay = stream.firstDay().atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant afterLastDay = stream.lastDay().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant start = from.isAfter(firstDay) ? from : firstDay;
+            Instant end = to.isBefore(afterLastDay) ? to : afterLastDay.minusNanos(1);
+            this.records = new SdsArchiveReader(stream.root()).records(streamId, start, end);
+        }
+
+        @Override
+        public boolean advance() {
+            try {
+                return records.advance();
+            } catch (IOException e) {
+                log.warn("Stopping replay of {} after read error: {}", streamId, e.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public DataRecord current() {
+            return records.current();
+        }
+
+        @Override
+        public byte[] currentBytes() {
+            return records.currentBytes();
+        }
+
+        @Override
+        public long startNanos() {
+            return records.startNanos();
+        }
+
+        @Override
+        public void close() {
+            records.close();
+        }
+    }
+
+    /**
+     * Reads the files of one stream one after the other, keeping only the current file open.
+     */
+    private static final class StreamCursor implements ReplayCursor {
+        private final Iterator<Path> files;
+        private final long fromNanos;
+        private final long toNanos;
+        private RecordCursor file;
+
+        private StreamCursor(List<Path> files, Instant from, Instant to) {
+            this.files = files.iterator();
+            this.fromNanos = boundNanos(from);
+            this.toNanos = boundNanos(to);
+        }
+
+        @Override
+        public boolean advance() {
+            while (true) {
+                if (file != null) {
+                    while (file.advance()) {
+                        DataHeader header = file.current.getHeader();
+                        if (file.startNanos() <= toNanos && MiniSeedHeaders.lastSampleTimeNanos(header) >= fromNanos) {
+                            return true;
+                        }
+                    }
+                    file.close();
+                    file = null;
+                }
+                if (!files.hasNext()) {
+                    return false;
+                }
+                Path next = files.next();
+                try {
+                    file = new RecordCursor(next);
+                } catch (IOException e) {
+                    log.warn("Skipping {}: {}", next, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public DataRecord current() {
+            return file.current;
+        }
+
+        @Override
+        public byte[] currentBytes() {
+            return null;
+        }
+
+        @Override
+        public long startNanos() {
+            return file.startNanos();
+        }
+
+        @Override
+        public void close() {
+            if (file != null) {
+                file.close();
+                file = null;
+            }
+        }
+    }
+
+    /**
+     * Sequential reader over the data records of one file.
+     */
+    private static final class RecordCursor {
+        private final Path file;
+        private final DataInputStream in;
+        private DataRecord current;
+        private long currentStartNanos;
+
+        private RecordCursor(Path file) throws IOException {
+            this.file = file;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        }
+
+        private boolean advance() {
+            try {
+                while (true) {
+                    SeedRecord seedRecord = SeedRecord.read(in);
+                    if (seedRecord instanceof DataRecord dataRecord) {
+                        current = dataRecord;
+                        currentStartNanos = MiniSeedHeaders.startTimeNanos(dataRecord.getHeader());
+                        return true;
+                    }
+                }
+            } catch (EOFException e) {
+                return false;
+            } catch (IOException | SeedFormatException e) {
+                log.warn("Stopping replay of {} after read error: {}", file, e.getMessage());
+                return false;
+            }
+        }
+
+        private long startNanos() {
+            return currentStartNanos;
+        }
+
+        private void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.debug("Error closing {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.hubbox.seismicmonitor.service;
+
+import edu.sc.seis.seisFile.mseed.DataRecord;
+
+/**
+ * Receives the records of a {@link DataSource} on the source's thread.
+ */
+@FunctionalInterface
+public interface RecordSink {
+
+    /**
+     * @param dataRecord the parsed record
+     * @param raw the record exactly as received, or null if the source has no wire bytes for it
+     */
+    void accept(DataRecord dataRecord, byte[] raw);
+}
@@ -0,0 +1,46 @@
+package com.hubbox.seismicmonitor.service;
+
+/**
+ * Plain loop implementation, used when the Vector API is not available.
+ */
+final class ScalarCharacteristicFunction implements CharacteristicFunction {
+    static final ScalarCharacteristicFunction INSTANCE = new ScalarCharacteristicFunction();
+
+    private ScalarCharacteristicFunction() {
+    }
+
+    @Override
+    public void accumulate(float[] samples, int off, int len, double[] prefix, int to) {
+        double sum = prefix[to - 1];
+        for (int i = 0; i < len; i++) {
+            sum += Math.abs(samples[off + i]);
+            prefix[to + i] = sum;
+        }
+    }
+
+    @Override
+    public int ratios(double[] prefix, int from, int to, int staWindow, int ltaWindow, double threshold,
+                      float[] ratios, int out) {
+        return ratios(prefix, from, to, staWindow, ltaWindow, (double) ltaWindow / staWindow, threshold, ratios, out);
+    }
+
+    static int ratios(double[] prefix, int from, int to, int staWindow, int ltaWindow, double scale,
+                      double threshold, float[] ratios, int out) {
+        int detections = 0;
+        for (int i = from; i < to; i++) {
+            double current = prefix[i];
+            double ltaSum = current - prefix[i - ltaWindow];
+            double ratio = ltaSum > 0 ? (current - prefix[i - staWindow]) * scale / ltaSum : 0.0;
+            ratios[out + i - from] = (float) ratio;
+            if (ratio > threshold) {
+                detections++;
+            }
+        }
+        return detections;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
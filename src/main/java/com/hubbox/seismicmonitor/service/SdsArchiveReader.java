@@ -0,0 +1,266 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.StreamId;
+import edu.sc.seis.seisFile.mseed.DataHeader;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+import edu.sc.seis.seisFile.mseed.SeedFormatException;
+import edu.sc.seis.seisFile.mseed.SeedRecord;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads time windows back from an archive written by {@link SdsArchiveWriter}. Day file indexes are
+ * loaded on first use and reloaded when the writer has appended to them since; only the records
+ * overlapping the requested window are read and decoded.
+ * <p>
+ * {@link #records(StreamId, Instant, Instant)} streams the raw records of a window instead, for
+ * windows too long to hold in memory; it is used by {@link MiniSeedReplaySource}.
+ */
+@Slf4j
+public class SdsArchiveReader {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Path root;
+    private final MiniSeedDecoder decoder = new MiniSeedDecoder();
+    private final Map<Path, LoadedIndex> indexes = new HashMap<>();
+
+    public SdsArchiveReader(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the records of {@code streamId} overlapping {@code [from, to]} in time order as blocks
+     * of raw counts. Blocks keep their full record length and may extend beyond the window.
+     */
+    public synchronized List<SampleBlock> read(StreamId streamId, Instant from, Instant to) throws IOException {
+        long fromNanos = toNanos(from);
+        long toNanos = toNanos(to);
+        List<SampleBlock> blocks = new ArrayList<>();
+        if (toNanos < fromNanos) {
+            return blocks;
+        }
+
+        // A record that started the day before can still cover the start of the window
+        LocalDate day = LocalDate.ofInstant(from, ZoneOffset.UTC).minusDays(1);
+        LocalDate lastDay = LocalDate.ofInstant(to, ZoneOffset.UTC);
+        for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            Path dayFile = SdsArchiveWriter.dayFilePath(root, streamId, day.getYear(), day.getDayOfYear());
+            if (Files.exists(dayFile)) {
+                readDayFile(streamId, dayFile, fromNanos, toNanos, blocks);
+            }
+        }
+        return blocks;
+    }
+
+    private void readDayFile(StreamId streamId, Path dayFile, long fromNanos, long toNanos,
+                             List<SampleBlock> blocks) throws IOException {
+        SdsRecordIndex index = indexFor(dayFile);
+        int first = index.firstCandidate(fromNanos);
+        try (FileChannel channel = FileChannel.open(dayFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(0);
+            for (int i = first; i < index.size() && index.startTime(i) <= toNanos; i++) {
+                if (index.endTime(i) < fromNanos) {
+                    continue;
+                }
+                int length = index.length(i);
+                if (buffer.capacity() < length) {
+                    buffer = ByteBuffer.allocate(length);
+                }
+                buffer.clear().limit(length);
+                readEntry(channel, index, i, buffer, dayFile);
+                SampleBlock block = decodeRecord(streamId, buffer.array(), length);
+                if (block != null) {
+                    blocks.add(block);
+                }
+            }
+        }
+    }
+
+    private static void readEntry(FileChannel channel, SdsRecordIndex index, int entry, ByteBuffer buffer,
+                                  Path dayFile) throws IOException {
+        long position = index.offset(entry);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Archive index points past the end of " + dayFile);
+            }
+        }
+    }
+
+    private static DataRecord parseRecord(byte[] bytes, int length) throws IOException {
+        try {
+            SeedRecord seedRecord = SeedRecord.read(new DataInputStream(new ByteArrayInputStream(bytes, 0, length)), length);
+            return seedRecord instanceof DataRecord dataRecord ? dataRecord : null;
+        } catch (SeedFormatException e) {
+            throw new IOException("Invalid miniSEED record in archive", e);
+        }
+    }
+
+    private SampleBlock decodeRecord(StreamId streamId, byte[] bytes, int length) throws IOException {
+        DataRecord dataRecord = parseRecord(bytes, length);
+        if (dataRecord == null) {
+            return null;
+        }
+
+        DataHeader header = dataRecord.getHeader();
+        int sampleCount = decoder.decode(dataRecord);
+        SampleBlock block = new SampleBlock(streamId, MiniSeedHeaders.startTimeNanos(header),
+            MiniSeedHeaders.sampleRate(header), sampleCount);
+        System.arraycopy(decoder.getSamples(), 0, block.getValues(), 0, sampleCount);
+        return block;
+    }
+
+    private SdsRecordIndex indexFor(Path dayFile) throws IOException {
+        Path indexPath = SdsRecordIndex.indexPathFor(dayFile);
+        boolean hasIndexFile = Files.exists(indexPath);
+        // The index grows while the day file is being written, so its size tells if the cache is stale
+        long version = hasIndexFile ? Files.size(indexPath) : Files.size(dayFile);
+
+        LoadedIndex cached = indexes.get(dayFile);
+        if (cached != null && cached.version == version) {
+            return cached.index;
+        }
+
+        SdsRecordIndex index = loadIndex(dayFile);
+        indexes.put(dayFile, new LoadedIndex(index, version));
+        return index;
+    }
+
+    private static SdsRecordIndex loadIndex(Path dayFile) throws IOException {
+        Path indexPath = SdsRecordIndex.indexPathFor(dayFile);
+        if (Files.exists(indexPath)) {
+            return SdsRecordIndex.load(indexPath);
+        }
+        log.info("No index for {}, scanning day file", dayFile);
+        return SdsRecordIndex.scan(dayFile);
+    }
+
+    /**
+     * Cursor over the records of {@code streamId} overlapping {@code [from, to]} in start time order,
+     * read through the day file indexes. Only the current day file is open and its index is not
+     * cached, so the window may span any number of days.
+     */
+    public RecordCursor records(StreamId streamId, Instant from, Instant to) {
+        return new RecordCursor(streamId, from, to);
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    private record LoadedIndex(SdsRecordIndex index, long version) {
+    }
+
+    /**
+     * Raw records of one stream and window; see {@link #records(StreamId, Instant, Instant)}.
+     */
+    public final class RecordCursor implements AutoCloseable {
+        private final StreamId streamId;
+        private final long fromNanos;
+        private final long toNanos;
+        private final LocalDate lastDay;
+        private LocalDate day;
+        private Path dayFile;
+        private FileChannel channel;
+        private SdsRecordIndex index;
+        private int entry;
+        private DataRecord current;
+        private byte[] currentBytes;
+        private long currentStartNanos;
+
+        private RecordCursor(StreamId streamId, Instant from, Instant to) {
+            this.streamId = streamId;
+            this.fromNanos = toNanos(from);
+            this.toNanos = toNanos(to);
+            // Day files hold the records starting on their day, so they are already in time order
+            this.day = LocalDate.ofInstant(from, ZoneOffset.UTC).minusDays(1);
+            this.lastDay = LocalDate.ofInstant(to, ZoneOffset.UTC);
+        }
+
+        /**
+         * Moves to the next record of the window.
+         *
+         * @return false once the window is exhausted
+         */
+        public boolean advance() throws IOException {
+            while (true) {
+                if (channel != null) {
+                    while (entry < index.size() && index.startTime(entry) <= toNanos) {
+                        int i = entry++;
+                        if (index.endTime(i) < fromNanos) {
+                            continue;
+                        }
+                        ByteBuffer buffer = ByteBuffer.allocate(index.length(i));
+                        readEntry(channel, index, i, buffer, dayFile);
+                        DataRecord dataRecord = parseRecord(buffer.array(), buffer.capacity());
+                        if (dataRecord != null) {
+                            current = dataRecord;
+                            currentBytes = buffer.array();
+                            currentStartNanos = index.startTime(i);
+                            return true;
+                        }
+                    }
+                    closeDay();
+                }
+                if (day.isAfter(lastDay)) {
+                    return false;
+                }
+                Path next = SdsArchiveWriter.dayFilePath(root, streamId, day.getYear(), day.getDayOfYear());
+                day = day.plusDays(1);
+                if (Files.exists(next)) {
+                    index = loadIndex(next);
+                    entry = index.firstCandidate(fromNanos);
+                    channel = FileChannel.open(next, StandardOpenOption.READ);
+                    dayFile = next;
+                }
+            }
+        }
+
+        public DataRecord current() {
+            return current;
+        }
+
+        /**
+         * The current record as stored in the archive.
+         */
+        public byte[] currentBytes() {
+            return currentBytes;
+        }
+
+        public long startNanos() {
+            return currentStartNanos;
+        }
+
+        private void closeDay() throws IOException {
+            FileChannel open = channel;
+            channel = null;
+            index = null;
+            open.close();
+        }
+
+        @Override
+        public void close() {
+            if (channel != null) {
+                try {
+                    closeDay();
+                } catch (IOException e) {
+                    log.debug("Error closing {}", dayFile, e);
+                }
+            }
+        }
+    }
+}
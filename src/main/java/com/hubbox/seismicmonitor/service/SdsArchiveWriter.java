@@ -0,0 +1,350 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.model.StreamId;
+import edu.sc.seis.seisFile.mseed.Btime;
+import edu.sc.seis.seisFile.mseed.DataHeader;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Archives received miniSEED records unmodified into an SDS day-file tree:
+ * {@code <root>/<YEAR>/<NET>/<STA>/<CHA>.D/<NET>.<STA>.<LOC>.<CHA>.D.<YEAR>.<DOY>}.
+ * <p>
+ * {@link #archive(DataRecord, byte[])} only hands the record to a ring and never blocks; a dedicated
+ * writer thread drains the ring in batches and appends each batch to a day file with one gathering
+ * write for the records and one write for their {@link SdsRecordIndex} entries. The files are forced
+ * to disk periodically.
+ */
+@Slf4j
+public class SdsArchiveWriter implements AutoCloseable {
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final int WRITE_BATCH = 512;
+    private static final long FORCE_INTERVAL_NANOS = 5_000_000_000L;
+    private static final long IDLE_WAIT_MS = 20;
+    private static final long CLOSE_TIMEOUT_MS = 10_000;
+    private static final String DATA_TYPE = "D";
+
+    private final Path root;
+    private final SpscRingBuffer<QueuedRecord> queue =
+        new SpscRingBuffer<>(QUEUE_CAPACITY, SpscRingBuffer.OverflowPolicy.DROP_NEWEST);
+    // Open day file per stream and the day files with records staged in the current batch, only
+    // touched by the writer thread
+    private final Map<String, DayFile> openFiles = new HashMap<>();
+    private final List<DayFile> staged = new ArrayList<>();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private long lastForceNanos = System.nanoTime();
+    private long writtenRecords;
+
+    public SdsArchiveWriter(Path root) {
+        this.root = root;
+        this.writerThread = new Thread(this::runWriter, "sds-archive-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        log.info("Archiving miniSEED records to {}", root);
+    }
+
+    /**
+     * Queues a record for archiving. Must be called from a single producer thread.
+     *
+     * @param raw the record as received, archived as is; if null the record is serialized again
+     * @return false if the archive queue was full and the record was dropped
+     */
+    public boolean archive(DataRecord dataRecord, byte[] raw) {
+        boolean queued = queue.offer(new QueuedRecord(dataRecord, raw));
+        if (!queued) {
+            log.warn("Archive queue full, dropped record ({} dropped so far)", queue.getDroppedCount());
+        }
+        return queued;
+    }
+
+    public long getDroppedCount() {
+        return queue.getDroppedCount();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void runWriter() {
+        while (running || !queue.isEmpty()) {
+            int written = queue.drain(this::stage, WRITE_BATCH);
+            if (written > 0) {
+                writeStaged();
+            }
+            if (System.nanoTime() - lastForceNanos >= FORCE_INTERVAL_NANOS) {
+                forceAll();
+            }
+            if (written == 0 && running) {
+                try {
+                    Thread.sleep(IDLE_WAIT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        forceAll();
+        closeAll();
+        log.info("Archive writer stopped after {} records", writtenRecords);
+    }
+
+    private void stage(QueuedRecord queued) {
+        try {
+            DataHeader header = queued.dataRecord().getHeader();
+            byte[] recordBytes = queued.raw() != null ? queued.raw() : queued.dataRecord().toByteArray();
+            DayFile dayFile = dayFileFor(header);
+            if (!dayFile.hasStaged()) {
+                staged.add(dayFile);
+            }
+            dayFile.stage(recordBytes, MiniSeedHeaders.startTimeNanos(header),
+                MiniSeedHeaders.lastSampleTimeNanos(header));
+        } catch (Exception e) {
+            log.error("Error archiving record", e);
+        }
+    }
+
+    private void writeStaged() {
+        for (DayFile dayFile : staged) {
+            writeStaged(dayFile);
+        }
+        staged.clear();
+    }
+
+    /**
+     * @return false if the write failed and the day file was closed and dropped
+     */
+    private boolean writeStaged(DayFile dayFile) {
+        try {
+            writtenRecords += dayFile.writeStaged();
+            return true;
+        } catch (IOException e) {
+            // Reopening checks the index against the data and rebuilds it if the write was partial
+            log.error("Error writing archive file {}, reopening it", dayFile.path, e);
+            dayFile.close();
+            openFiles.values().remove(dayFile);
+            return false;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Path of the SDS day file holding the records of {@code streamId} that start on the given day.
+     */
+    public static Path dayFilePath(Path root, StreamId streamId, int year, int dayOfYear) {
+        return root
+            .resolve(String.format("%04d", year))
+            .resolve(streamId.network())
+            .resolve(streamId.station())
+            .resolve(streamId.channel() + "." + DATA_TYPE)
+            .resolve(String.format("%s.%s.%04d.%03d", streamId, DATA_TYPE, year, dayOfYear));
+    }
+
+    private DayFile dayFileFor(DataHeader header) throws IOException {
+        StreamId streamId = new StreamId(
+            header.getNetworkCode().trim(),
+            header.getStationIdentifier().trim(),
+            header.getLocationIdentifier().trim(),
+            header.getChannelIdentifier().trim()
+        );
+        Btime start = header.getStartBtime();
+        String streamKey = streamId.toString();
+        Path path = dayFilePath(root, streamId, start.getYear(), start.getDayOfYear());
+
+        DayFile current = openFiles.get(streamKey);
+        if (current != null) {
+            if (current.path.equals(path)) {
+                return current;
+            }
+            // The stream rolled over to a new day; the previous day file is complete
+            if (writeStaged(current)) {
+                current.close();
+                openFiles.remove(streamKey);
+            }
+        }
+
+        Files.createDirectories(path.getParent());
+        FileChannel fileChannel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        FileChannel indexChannel;
+        try {
+            indexChannel = openIndex(path, fileChannel.size());
+        } catch (IOException e) {
+            fileChannel.close();
+            throw e;
+        }
+        DayFile dayFile = new DayFile(path, fileChannel, indexChannel, fileChannel.size());
+        openFiles.put(streamKey, dayFile);
+        log.debug("Opened archive day file {}", path);
+        return dayFile;
+    }
+
+    /**
+     * Opens the index of a day file for appending, rebuilding it first if it does not cover
+     * exactly the records already in the file (missing index or interrupted write).
+     */
+    private static FileChannel openIndex(Path dayFile, long dataSize) throws IOException {
+        Path indexPath = SdsRecordIndex.indexPathFor(dayFile);
+        if (!indexMatches(indexPath, dataSize)) {
+            log.info("Rebuilding archive index {}", indexPath);
+            SdsRecordIndex index = dataSize > 0 ? SdsRecordIndex.scan(dayFile) : new SdsRecordIndex();
+            ByteBuffer buffer = ByteBuffer.allocate(index.size() * SdsRecordIndex.ENTRY_BYTES);
+            for (int i = 0; i < index.size(); i++) {
+                SdsRecordIndex.writeEntry(buffer, index.startTime(i), index.endTime(i), index.offset(i), index.length(i));
+            }
+            buffer.flip();
+            try (FileChannel rebuilt = FileChannel.open(indexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(rebuilt, buffer);
+                rebuilt.force(false);
+            }
+        }
+        return FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static boolean indexMatches(Path indexPath, long dataSize) throws IOException {
+        if (!Files.exists(indexPath)) {
+            return dataSize == 0;
+        }
+        SdsRecordIndex index = SdsRecordIndex.load(indexPath);
+        long covered = 0;
+        for (int i = 0; i < index.size(); i++) {
+            covered = Math.max(covered, index.offset(i) + index.length(i));
+        }
+        return covered == dataSize && Files.size(indexPath) % SdsRecordIndex.ENTRY_BYTES == 0;
+    }
+
+    private void forceAll() {
+        for (DayFile dayFile : openFiles.values()) {
+            dayFile.force();
+        }
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void closeAll() {
+        for (DayFile dayFile : openFiles.values()) {
+            dayFile.close();
+        }
+        openFiles.clear();
+    }
+
+    /**
+     * Stops accepting work, writes out everything still queued and closes the day files.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Archive writer did not finish within {} ms", CLOSE_TIMEOUT_MS);
+        }
+    }
+
+    private record QueuedRecord(DataRecord dataRecord, byte[] raw) {
+    }
+
+    private static final class DayFile {
+        private static final ByteBuffer[] NO_BUFFERS = new ByteBuffer[0];
+
+        private final Path path;
+        private final FileChannel channel;
+        private final FileChannel indexChannel;
+        // File position after the staged records
+        private long position;
+        private boolean dirty;
+        private final List<ByteBuffer> stagedRecords = new ArrayList<>();
+        private ByteBuffer stagedIndex = ByteBuffer.allocate(64 * SdsRecordIndex.ENTRY_BYTES);
+
+        private DayFile(Path path, FileChannel channel, FileChannel indexChannel, long position) {
+            this.path = path;
+            this.channel = channel;
+            this.indexChannel = indexChannel;
+            this.position = position;
+        }
+
+        private boolean hasStaged() {
+            return !stagedRecords.isEmpty();
+        }
+
+        private void stage(byte[] recordBytes, long startNanos, long endNanos) {
+            if (stagedIndex.remaining() < SdsRecordIndex.ENTRY_BYTES) {
+                ByteBuffer grown = ByteBuffer.allocate(stagedIndex.capacity() * 2);
+                stagedIndex.flip();
+                grown.put(stagedIndex);
+                stagedIndex = grown;
+            }
+            SdsRecordIndex.writeEntry(stagedIndex, startNanos, endNanos, position, recordBytes.length);
+            stagedRecords.add(ByteBuffer.wrap(recordBytes));
+            position += recordBytes.length;
+        }
+
+        /**
+         * Appends the staged records with one gathering write, then their index entries; the index
+         * follows the data, so a crash can only lose entries, never point past the data.
+         *
+         * @return number of records written
+         */
+        private int writeStaged() throws IOException {
+            int records = stagedRecords.size();
+            if (records == 0) {
+                return 0;
+            }
+            ByteBuffer[] buffers = stagedRecords.toArray(NO_BUFFERS);
+            stagedRecords.clear();
+            ByteBuffer last = buffers[buffers.length - 1];
+            while (last.hasRemaining()) {
+                channel.write(buffers);
+            }
+            stagedIndex.flip();
+            writeFully(indexChannel, stagedIndex);
+            stagedIndex.clear();
+            dirty = true;
+            return records;
+        }
+
+        private void force() {
+            if (!dirty) {
+                return;
+            }
+            try {
+                channel.force(false);
+                indexChannel.force(false);
+                dirty = false;
+            } catch (IOException e) {
+                log.error("Error syncing archive file {}", path, e);
+            }
+        }
+
+        private void close() {
+            if (hasStaged()) {
+                log.warn("Discarding {} unwritten records of {}", stagedRecords.size(), path);
+            }
+            force();
+            try {
+                channel.close();
+                indexChannel.close();
+            } catch (IOException e) {
+                log.error("Error closing archive file {}", path, e);
+            }
+        }
+    }
+}
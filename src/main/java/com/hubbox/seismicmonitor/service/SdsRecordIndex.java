@@ -0,0 +1,195 @@
+package com.hubbox.seismicmonitor.service;
+
+import edu.sc.seis.seisFile.mseed.DataHeader;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+import edu.sc.seis.seisFile.mseed.SeedFormatException;
+import edu.sc.seis.seisFile.mseed.SeedRecord;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Record index of one SDS day file, stored next to it as {@code <dayfile>.idx}. Each entry is
+ * {@value #ENTRY_BYTES} bytes: first sample time, last sample time (epoch nanos), byte offset and
+ * record length. Entries are kept sorted by start time once loaded, so a time window maps to a
+ * contiguous run of records found by binary search.
+ */
+@Slf4j
+public final class SdsRecordIndex {
+    public static final int ENTRY_BYTES = 32;
+    private static final String SUFFIX = ".idx";
+    private static final int INITIAL_CAPACITY = 256;
+
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private long[] endTimes = new long[INITIAL_CAPACITY];
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int size;
+    private long maxDurationNanos;
+
+    SdsRecordIndex() {
+    }
+
+    public static Path indexPathFor(Path dayFile) {
+        return dayFile.resolveSibling(dayFile.getFileName() + SUFFIX);
+    }
+
+    static void writeEntry(ByteBuffer buffer, long startNanos, long endNanos, long offset, int length) {
+        buffer.putLong(startNanos);
+        buffer.putLong(endNanos);
+        buffer.putLong(offset);
+        buffer.putInt(length);
+        buffer.putInt(0);
+    }
+
+    /**
+     * Loads an index file written by {@link SdsArchiveWriter}. A trailing partial entry is ignored.
+     */
+    public static SdsRecordIndex load(Path indexFile) throws IOException {
+        SdsRecordIndex index = new SdsRecordIndex();
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            int entries = (int) (channel.size() / ENTRY_BYTES);
+            ByteBuffer buffer = ByteBuffer.allocate(entries * ENTRY_BYTES);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading
+            }
+            buffer.flip();
+            while (buffer.remaining() >= ENTRY_BYTES) {
+                long start = buffer.getLong();
+                long end = buffer.getLong();
+                long offset = buffer.getLong();
+                int length = buffer.getInt();
+                buffer.getInt();
+                index.add(start, end, offset, length);
+            }
+        }
+        index.sortByStartTime();
+        return index;
+    }
+
+    /**
+     * Builds the index of a day file by reading every record header, for day files that have no
+     * index of their own.
+     */
+    public static SdsRecordIndex scan(Path dayFile) throws IOException {
+        SdsRecordIndex index = new SdsRecordIndex();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(dayFile)))) {
+            long offset = 0;
+            while (true) {
+                SeedRecord seedRecord;
+                try {
+                    seedRecord = SeedRecord.read(in);
+                } catch (EOFException e) {
+                    break;
+                }
+                int length = seedRecord.getRecordSize();
+                if (seedRecord instanceof DataRecord dataRecord) {
+                    DataHeader header = dataRecord.getHeader();
+                    index.add(MiniSeedHeaders.startTimeNanos(header), MiniSeedHeaders.lastSampleTimeNanos(header),
+                        offset, length);
+                }
+                offset += length;
+            }
+        } catch (SeedFormatException e) {
+            throw new IOException("Invalid miniSEED in " + dayFile, e);
+        }
+        index.sortByStartTime();
+        log.debug("Scanned {} records from {}", index.size, dayFile);
+        return index;
+    }
+
+    private void add(long startNanos, long endNanos, long offset, int length) {
+        if (size == startTimes.length) {
+            int capacity = size * 2;
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            endTimes = Arrays.copyOf(endTimes, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        startTimes[size] = startNanos;
+        endTimes[size] = endNanos;
+        offsets[size] = offset;
+        lengths[size] = length;
+        maxDurationNanos = Math.max(maxDurationNanos, endNanos - startNanos);
+        size++;
+    }
+
+    private void sortByStartTime() {
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = startTimes[i - 1] <= startTimes[i];
+        }
+        if (sorted) {
+            return;
+        }
+
+        // Backfilled or resumed data can arrive out of order
+        int[] order = IntStream.range(0, size).boxed()
+            .sorted(Comparator.comparingLong(i -> startTimes[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        long[] sortedStarts = new long[size];
+        long[] sortedEnds = new long[size];
+        long[] sortedOffsets = new long[size];
+        int[] sortedLengths = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedStarts[i] = startTimes[order[i]];
+            sortedEnds[i] = endTimes[order[i]];
+            sortedOffsets[i] = offsets[order[i]];
+            sortedLengths[i] = lengths[order[i]];
+        }
+        startTimes = sortedStarts;
+        endTimes = sortedEnds;
+        offsets = sortedOffsets;
+        lengths = sortedLengths;
+    }
+
+    /**
+     * @return index of the first entry that may overlap a window starting at {@code fromNanos}
+     */
+    public int firstCandidate(long fromNanos) {
+        // No record lasts longer than maxDurationNanos, so earlier starts cannot reach fromNanos
+        long earliestStart = fromNanos - maxDurationNanos;
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startTimes[mid] < earliestStart) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long startTime(int entry) {
+        return startTimes[entry];
+    }
+
+    public long endTime(int entry) {
+        return endTimes[entry];
+    }
+
+    public long offset(int entry) {
+        return offsets[entry];
+    }
+
+    public int length(int entry) {
+        return lengths[entry];
+    }
+}
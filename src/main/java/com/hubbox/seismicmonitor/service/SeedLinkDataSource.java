@@ -0,0 +1,251 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.StreamSelection;
+import com.hubbox.seismicmonitor.diagnostics.PacketReceivedEvent;
+import edu.sc.seis.seisFile.mseed.DataHeader;
+import edu.sc.seis.seisFile.mseed.DataRecord;
+import edu.sc.seis.seisFile.seedlink.SeedlinkPacket;
+import edu.sc.seis.seisFile.seedlink.SeedlinkReader;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live records from a SeedLink server. Reconnects with exponential backoff and resumes each
+ * station after the last sequence number it delivered. Selections without a sequence number, such
+ * as wildcard stations, resume by time from the end of the newest record they delivered; only a
+ * selection that has delivered nothing yet asks for the last hour.
+ */
+@Slf4j
+public class SeedLinkDataSource implements DataSource {
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 60_000;
+    private static final int MAX_SEQUENCE = 0xFFFFFF;
+    private static final Duration BACKFILL = Duration.ofHours(1);
+
+    private final AppConfig config;
+    private final List<StreamSelection> selections;
+    private volatile SeedlinkReader reader;
+    private volatile boolean running = false;
+    private Thread connectionThread;
+    private volatile long currentSession;
+    private final Object reconnectLock = new Object();
+    // SeedLink sequence numbers are per station, so resume points are kept per NET_STA
+    private final Map<String, Integer> lastSequence = new ConcurrentHashMap<>();
+    // End of the newest record per requested NET_STA, which may be a pattern such as IU_*
+    private final Map<String, Long> resumeNanos = new ConcurrentHashMap<>();
+    // Requested NET_STA patterns matching each received NET_STA
+    private final Map<String, List<String>> matchingSelections = new ConcurrentHashMap<>();
+
+    public SeedLinkDataSource(AppConfig config) {
+        this.config = config;
+        this.selections = config.streamSelections();
+    }
+
+    @Override
+    public synchronized void start(RecordSink sink) {
+        if (running) {
+            log.warn("SeedLink source already running");
+            return;
+        }
+        running = true;
+        long session = ++currentSession;
+
+        connectionThread = new Thread(() -> runConnectionLoop(session, sink), "seedlink-ingest");
+        connectionThread.setDaemon(true);
+        connectionThread.start();
+    }
+
+    private void runConnectionLoop(long session, RecordSink sink) {
+        long backoff = INITIAL_BACKOFF_MS;
+        while (isActive(session)) {
+            boolean receivedData = false;
+            try {
+                reader = new SeedlinkReader(config.host(), config.port());
+                setupConnection();
+                receivedData = processData(session, sink);
+                log.warn("SeedLink stream ended");
+            } catch (Exception e) {
+                if (isActive(session)) {
+                    log.error("Error in data collection", e);
+                }
+            } finally {
+                closeReader();
+            }
+
+            if (receivedData) {
+                backoff = INITIAL_BACKOFF_MS;
+            }
+            if (isActive(session)) {
+                log.info("Reconnecting to {}:{} in {} ms", config.host(), config.port(), backoff);
+                waitBeforeReconnect(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+        log.info("SeedLink connection loop finished");
+    }
+
+    private boolean isActive(long session) {
+        return running && currentSession == session;
+    }
+
+    private void waitBeforeReconnect(long millis) {
+        synchronized (reconnectLock) {
+            try {
+                // stop() clears running before it notifies, so a stop is never missed here
+                if (running) {
+                    reconnectLock.wait(millis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    private void setupConnection() throws Exception {
+        log.info("Setting up SeedLink connection to {}:{}", config.host(), config.port());
+        String[] helloResponse = reader.sendHello();
+        for (String response : helloResponse) {
+            log.debug("Server response: {}", response);
+        }
+
+        for (StreamSelection selection : selections) {
+            String key = stationKey(selection.network(), selection.station());
+            Integer sequence = lastSequence.get(key);
+            if (sequence != null) {
+                log.info("Resuming {} after sequence {}", selection, sequence);
+                reader.sendStation(selection.network(), selection.station());
+                for (String selector : selection.selectors()) {
+                    reader.sendSelect(selector);
+                }
+                reader.sendCmd(String.format("DATA %06X", (sequence + 1) & MAX_SEQUENCE));
+            } else {
+                Long resume = resumeNanos.get(key);
+                Instant from = resume != null ? Instant.ofEpochSecond(0, resume) : Instant.now().minus(BACKFILL);
+                log.info("{} {} from {}", resume != null ? "Resuming" : "Selecting", selection, from);
+                reader.selectTime(selection.network(), selection.station(), selection.selectors(), from);
+            }
+        }
+        reader.endHandshake();
+        log.info("SeedLink connection established for {} stations", selections.size());
+    }
+
+    private boolean processData(long session, RecordSink sink) throws Exception {
+        log.info("Starting data processing");
+        boolean receivedData = false;
+        while (isActive(session) && reader.hasNext()) {
+            SeedlinkPacket packet = reader.next();
+            if (packet == null) {
+                continue;
+            }
+            receivedData = true;
+            try {
+                processPacket(packet, sink);
+            } catch (Exception e) {
+                log.error("Error processing data", e);
+            }
+        }
+        return receivedData;
+    }
+
+    private void processPacket(SeedlinkPacket packet, RecordSink sink) throws Exception {
+        PacketReceivedEvent event = new PacketReceivedEvent();
+        event.begin();
+        DataRecord mseed = packet.getMiniSeed();
+        if (mseed == null) {
+            return;
+        }
+        sink.accept(mseed, packet.getMseedBytes());
+
+        int sequence = sequenceOf(packet);
+        DataHeader header = mseed.getHeader();
+        String network = header.getNetworkCode().trim();
+        String station = header.getStationIdentifier().trim();
+        String key = stationKey(network, station);
+        if (sequence >= 0) {
+            lastSequence.put(key, sequence);
+        }
+        long end = MiniSeedHeaders.endTimeNanos(header);
+        for (String selection : matchingSelections.computeIfAbsent(key, ignored -> selectionsMatching(network, station))) {
+            resumeNanos.merge(selection, end, Math::max);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.stream = network + "." + station + "." + header.getLocationIdentifier().trim() + "."
+                + header.getChannelIdentifier().trim();
+            event.sequence = sequence;
+            event.commit();
+        }
+    }
+
+    private static int sequenceOf(SeedlinkPacket packet) {
+        try {
+            return Integer.parseInt(packet.getSeqNum().trim(), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String stationKey(String network, String station) {
+        return network + "_" + station;
+    }
+
+    private List<String> selectionsMatching(String network, String station) {
+        return selections.stream()
+            .filter(selection -> matches(selection.network(), network) && matches(selection.station(), station))
+            .map(selection -> stationKey(selection.network(), selection.station()))
+            .toList();
+    }
+
+    /**
+     * SeedLink station patterns: {@code ?} matches one character and {@code *} any number. Codes are
+     * letters and digits, so the pattern needs no other escaping.
+     */
+    private static boolean matches(String pattern, String code) {
+        return code.matches(pattern.replace("?", ".").replace("*", ".*"));
+    }
+
+    private void closeReader() {
+        SeedlinkReader current = reader;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (Exception e) {
+                log.debug("Error closing SeedLink reader", e);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = connectionThread;
+            connectionThread = null;
+        }
+        synchronized (reconnectLock) {
+            reconnectLock.notifyAll();
+        }
+        // Closing the reader ends a blocking read; the loop then sees that it is no longer active
+        closeReader();
+        if (thread != null && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "SeedLink " + config.host() + ":" + config.port();
+    }
+}
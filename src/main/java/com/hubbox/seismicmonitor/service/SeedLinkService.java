@@ -1,30 +1,143 @@
 package com.hubbox.seismicmonitor.service;
 
 import com.hubbox.seismicmonitor.config.AppConfig;
-import com.hubbox.seismicmonitor.model.SeismicData;
+import com.hubbox.seismicmonitor.config.DetectorParameters;
+import com.hubbox.seismicmonitor.diagnostics.RecordDecodedEvent;
+import com.hubbox.seismicmonitor.metrics.PipelineMetrics;
+import com.hubbox.seismicmonitor.metrics.StreamMetrics;
+import com.hubbox.seismicmonitor.model.NetworkEvent;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+import edu.sc.seis.seisFile.mseed.DataHeader;
 import edu.sc.seis.seisFile.mseed.DataRecord;
-import edu.sc.seis.seisFile.seedlink.SeedlinkPacket;
-import edu.sc.seis.seisFile.seedlink.SeedlinkReader;
 import java.io.IOException;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Runs records from the configured {@link DataSource} (live SeedLink or a local replay) through
+ * decoding and detection, and publishes the resulting blocks on {@link #getOutput()}, the
+ * completed triggers on {@link #getEvents()} and coincident station triggers on
+ * {@link #getNetworkEvents()}.
+ */
 @Slf4j
-public class SeedLinkService {
+public class SeedLinkService implements AutoCloseable {
+    private static final int OUTPUT_CAPACITY = 4096;
+    private static final int EVENT_CAPACITY = 1024;
+    private static final int NETWORK_EVENT_CAPACITY = 256;
+
     private final AppConfig config;
-    private SeedlinkReader reader;
-    private final ObjectProperty<SeismicData> latestData = new SimpleObjectProperty<>();
+    private final DataSource source;
+    private final SpscRingBuffer<SampleBlock> output =
+        new SpscRingBuffer<>(OUTPUT_CAPACITY, SpscRingBuffer.OverflowPolicy.OVERWRITE_OLDEST);
+    private final SpscRingBuffer<SeismicEvent> events =
+        new SpscRingBuffer<>(EVENT_CAPACITY, SpscRingBuffer.OverflowPolicy.OVERWRITE_OLDEST);
+    private final SpscRingBuffer<NetworkEvent> networkEvents =
+        new SpscRingBuffer<>(NETWORK_EVENT_CAPACITY, SpscRingBuffer.OverflowPolicy.OVERWRITE_OLDEST);
     private volatile boolean running = false;
-    private final StaLtaService staLtaService;
+    private final MiniSeedDecoder decoder = new MiniSeedDecoder();
+    private final Map<StreamId, StreamProcessor> processors = new ConcurrentHashMap<>();
+    private volatile SdsArchiveWriter archiveWriter;
+    private final PipelineMetrics metrics = new PipelineMetrics();
+    private final CoincidenceTrigger coincidence;
+    private final List<DetectorParameters> detectorSets;
+    private final EventStore eventStore;
+    private final TriggerListener triggerListener = new TriggerListener() {
+        @Override
+        public void triggerOn(StreamId streamId, long onsetNanos) {
+            if (coincidence != null) {
+                coincidence.onTrigger(streamId, onsetNanos);
+            }
+        }
+
+        @Override
+        public void eventCompleted(SeismicEvent event) {
+            if (eventStore != null) {
+                try {
+                    eventStore.append(event);
+                } catch (UncheckedIOException e) {
+                    // A full or failing disk must not hide the event from the live pipeline
+                    log.error("Could not store event on {}.{}.{}.{} at {}", event.network(), event.station(),
+                        event.location(), event.channel(), event.onsetTime(), e);
+                }
+            }
+            events.offer(event);
+        }
+    };
 
-    public SeedLinkService(AppConfig config, StaLtaService staLtaService) {
+    public SeedLinkService(AppConfig config) {
+        this(config, createSource(config));
+    }
+
+    public SeedLinkService(AppConfig config, DataSource source) {
         this.config = config;
-        this.staLtaService = staLtaService;
+        this.source = source;
+        this.coincidence = config.coincidenceEnabled()
+            ? new CoincidenceTrigger(config.coincidenceWindow(), config.coincidenceThreshold(),
+                config.stationWeightMap(), expectedStations(config), networkEvents::offer)
+            : null;
+        this.detectorSets = config.detectorSets();
+        this.eventStore = config.eventStoreEnabled() ? openEventStore(Path.of(config.eventStoreFile())) : null;
+        registerGauges();
+    }
+
+    /**
+     * {@code NET_STA} of the requested live stations without wildcards; a replay delivers its streams
+     * in time order and needs no stations to wait for.
+     */
+    private static List<String> expectedStations(AppConfig config) {
+        if (config.replayEnabled()) {
+            return List.of();
+        }
+        return config.streamSelections().stream()
+            .filter(selection -> !isPattern(selection.network()) && !isPattern(selection.station()))
+            .map(selection -> selection.network() + "_" + selection.station())
+            .toList();
+    }
+
+    private static boolean isPattern(String code) {
+        return code.indexOf('?') >= 0 || code.indexOf('*') >= 0;
+    }
+
+    private static EventStore openEventStore(Path file) {
+        try {
+            return EventStore.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open event store " + file, e);
+        }
+    }
+
+    private void registerGauges() {
+        metrics.registerGauge("output_queue_size", "Blocks waiting for the UI", output::size);
+        metrics.registerGauge("output_queue_capacity", "Capacity of the UI queue", output::capacity);
+        metrics.registerGauge("output_queue_high_water_mark", "Highest UI queue occupancy", output::getHighWaterMark);
+        metrics.registerGauge("output_dropped_blocks", "Blocks overwritten before the UI consumed them", output::getDroppedCount);
+        metrics.registerGauge("event_queue_size", "Completed triggers waiting for the consumer", events::size);
+        metrics.registerGauge("event_dropped", "Completed triggers overwritten before they were consumed", events::getDroppedCount);
+        metrics.registerGauge("event_store_size", "Events in the persistent event store",
+            () -> eventStore != null ? eventStore.size() : 0);
+        metrics.registerGauge("archive_queue_size", "Records waiting for the archive writer", () -> {
+            SdsArchiveWriter archive = archiveWriter;
+            return archive != null ? archive.getQueueSize() : 0;
+        });
+        metrics.registerGauge("archive_dropped_records", "Records the archive writer could not keep up with", () -> {
+            SdsArchiveWriter archive = archiveWriter;
+            return archive != null ? archive.getDroppedCount() : 0;
+        });
+    }
+
+    private static DataSource createSource(AppConfig config) {
+        if (config.replayEnabled()) {
+            return new MiniSeedReplaySource(Path.of(config.replayPath()), config.replaySpeed(),
+                config.replayStart(), config.replayEnd());
+        }
+        return new SeedLinkDataSource(config);
     }
 
     public void startDataCollection() {
@@ -33,80 +146,125 @@ public class SeedLinkService {
             return;
         }
         running = true;
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                reader = new SeedlinkReader(true);
-                setupConnection();
-                processData();
-            } catch (Exception e) {
-                log.error("Error in data collection", e);
-                running = false;
-            }
-        });
+        // Replayed records are already on disk, archiving them again would duplicate them
+        if (config.archiveEnabled() && !config.replayEnabled()) {
+            archiveWriter = new SdsArchiveWriter(Path.of(config.archiveDirectory()));
+        }
+        metrics.start();
+        log.info("Starting data collection from {}", source.describe());
+        source.start(this::processRecord);
     }
 
-    private void setupConnection() throws Exception {
-        log.info("Setting up SeedLink connection to {}:{}", config.host(), config.port());
-        String[] helloResponse = reader.sendHello();
-        for (String response : helloResponse) {
-            log.debug("Server response: {}", response);
+    private void processRecord(DataRecord receivedData, byte[] raw) {
+        SdsArchiveWriter archive = archiveWriter;
+        if (archive != null) {
+            archive.archive(receivedData, raw);
         }
 
-        reader.sendStation(config.network(), config.station());
-        reader.sendSelect(config.channel());
-        reader.selectTime(config.network(), config.station(),
-            List.of(config.channel()),
-            Instant.now().minus(1, ChronoUnit.HOURS));
-        reader.endHandshake();
-        log.info("SeedLink connection established");
-    }
-
-    private void processData() throws IOException {
-        log.info("Starting data processing");
-        while (running && reader.hasNext()) {
-            try {
-                SeedlinkPacket packet = reader.next();
-                if (packet != null) {
-                    DataRecord mseed = packet.getMiniSeed();
-                    if (mseed != null) {
-                        processRecord(mseed);
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error processing data", e);
+        DataHeader header = receivedData.getHeader();
+        int encoding = MiniSeedDecoder.encodingOf(receivedData);
+        if (!MiniSeedDecoder.isSupported(encoding)) {
+            // LOG and other text channels use ASCII (encoding 0) and carry no samples
+            if (log.isDebugEnabled()) {
+                log.debug("Skipping record of {} with unsupported encoding {}", streamIdOf(header), encoding);
             }
+            return;
         }
-    }
 
-    private void processRecord(DataRecord receivedData) {
-        byte[] data = receivedData.getData();
-        for (byte value : data) {
-            String locationIdentifier = receivedData.getHeader().getLocationIdentifier();
-            log.info("Received data from {}: {}", locationIdentifier, value);
-            double normalizedValue = value / config.normalizationFactor();
-            boolean eventDetected = staLtaService.process(normalizedValue);
-
-            SeismicData seismicData = new SeismicData(
-                normalizedValue,
-                staLtaService.getCurrentRatio(),
-                Instant.now(),
-                receivedData.getHeader().getNetworkCode(),
-                receivedData.getHeader().getStationIdentifier(),
-                receivedData.getHeader().getChannelIdentifier(),
-                eventDetected
-            );
-
-            latestData.set(seismicData);
+        RecordDecodedEvent decodedEvent = new RecordDecodedEvent();
+        decodedEvent.begin();
+        long decodeStart = System.nanoTime();
+        int sampleCount = decoder.decode(receivedData);
+        float[] samples = decoder.getSamples();
+        long detectorStart = System.nanoTime();
+        decodedEvent.end();
+        StreamProcessor processor = processors.computeIfAbsent(streamIdOf(header), this::createProcessor);
+        log.debug("Received {} samples from {}", sampleCount, processor.getStreamId());
+
+        float scale = (float) (1.0 / config.normalizationFactor());
+        for (int i = 0; i < sampleCount; i++) {
+            samples[i] *= scale;
+        }
+        processor.process(samples, sampleCount,
+            MiniSeedHeaders.startTimeNanos(header), MiniSeedHeaders.sampleRate(header));
+        long detectorEnd = System.nanoTime();
+        if (coincidence != null) {
+            coincidence.onData(processor.getStreamId(), MiniSeedHeaders.lastSampleTimeNanos(header));
+        }
+
+        long latency = System.currentTimeMillis() * 1_000_000L - MiniSeedHeaders.lastSampleTimeNanos(header);
+        processor.getMetrics().recordPacket(sampleCount, detectorStart - decodeStart, detectorEnd - detectorStart, latency);
+
+        if (decodedEvent.shouldCommit()) {
+            decodedEvent.stream = processor.getStreamId().toString();
+            decodedEvent.sampleCount = sampleCount;
+            decodedEvent.dataLatency = latency;
+            decodedEvent.commit();
         }
     }
 
-    public ObjectProperty<SeismicData> latestDataProperty() {
-        return latestData;
+    private StreamProcessor createProcessor(StreamId streamId) {
+        log.info("New stream {}", streamId);
+        DetectorBank detectorBank = detectorSets.isEmpty()
+            ? null
+            : new DetectorBank(streamId, config, detectorSets, metrics);
+        return new StreamProcessor(streamId, config, output::offer, triggerListener, detectorBank,
+            metrics.stream(streamId));
+    }
+
+    private static StreamId streamIdOf(DataHeader header) {
+        return new StreamId(
+            header.getNetworkCode().trim(),
+            header.getStationIdentifier().trim(),
+            header.getLocationIdentifier().trim(),
+            header.getChannelIdentifier().trim()
+        );
+    }
+
+    public SpscRingBuffer<SampleBlock> getOutput() {
+        return output;
+    }
+
+    public SpscRingBuffer<SeismicEvent> getEvents() {
+        return events;
+    }
+
+    public SpscRingBuffer<NetworkEvent> getNetworkEvents() {
+        return networkEvents;
+    }
+
+    public PipelineMetrics getMetrics() {
+        return metrics;
+    }
+
+    public DataSource getSource() {
+        return source;
+    }
+
+    public Optional<EventStore> getEventStore() {
+        return Optional.ofNullable(eventStore);
     }
 
     public void stop() {
         running = false;
+        // Returns once the ingest thread is done, so nothing writes to the archive or store below
+        source.stop();
+        if (archiveWriter != null) {
+            archiveWriter.close();
+            archiveWriter = null;
+        }
+        metrics.close();
         log.info("Stopping SeedLink service");
     }
+
+    /**
+     * Stops data collection and closes the event store; the service cannot be restarted afterwards.
+     */
+    @Override
+    public void close() {
+        stop();
+        if (eventStore != null) {
+            eventStore.close();
+        }
+    }
 }
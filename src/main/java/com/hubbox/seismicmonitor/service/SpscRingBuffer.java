@@ -0,0 +1,140 @@
+package com.hubbox.seismicmonitor.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, pre-allocated single-producer/single-consumer ring. {@link #offer(Object)} must only be
+ * called from one thread and {@link #poll()}/{@link #drain(Consumer, int)} from one other thread.
+ * When full, the ring either rejects the new element or overwrites the oldest one, depending on
+ * its {@link OverflowPolicy}; in both cases the producer never blocks.
+ */
+public class SpscRingBuffer<E> {
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        OVERWRITE_OLDEST
+    }
+
+    private final Object[] buffer;
+    private final int mask;
+    private final OverflowPolicy policy;
+
+    // Consumer position; the producer also advances it when overwriting
+    private final AtomicLong head = new AtomicLong();
+    // Producer position, published with release semantics after the slot is written
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong highWaterMark = new AtomicLong();
+
+    public SpscRingBuffer(int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * @return false if the element was rejected because the ring is full
+     */
+    public boolean offer(E element) {
+        long currentTail = tail.get();
+        long currentHead = head.get();
+        offered.incrementAndGet();
+
+        if (currentTail - currentHead >= buffer.length) {
+            if (policy == OverflowPolicy.DROP_NEWEST) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            // If the CAS fails the consumer has just freed the slot itself
+            if (head.compareAndSet(currentHead, currentHead + 1)) {
+                dropped.incrementAndGet();
+            }
+        }
+
+        buffer[(int) currentTail & mask] = element;
+        tail.lazySet(currentTail + 1);
+
+        long occupancy = currentTail + 1 - head.get();
+        if (occupancy > highWaterMark.get()) {
+            highWaterMark.lazySet(occupancy);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long currentHead = head.get();
+            if (currentHead >= tail.get()) {
+                return null;
+            }
+            E element = (E) buffer[(int) currentHead & mask];
+            // A failed CAS means the producer overwrote this slot; retry from the new head
+            if (head.compareAndSet(currentHead, currentHead + 1)) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Passes at most {@code limit} elements to {@code consumer}.
+     *
+     * @return number of elements drained
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int count = 0;
+        while (count < limit) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // discard
+        }
+    }
+
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getOfferedCount() {
+        return offered.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getHighWaterMark() {
+        return highWaterMark.get();
+    }
+}
@@ -1,32 +1,54 @@
 package com.hubbox.seismicmonitor.service;
 
 import com.hubbox.seismicmonitor.config.AppConfig;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Arrays;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class StaLtaService {
-    private final Queue<Double> staBuffer = new LinkedList<>();
-    private final Queue<Double> ltaBuffer = new LinkedList<>();
-    private final AppConfig config;
-    private double staSum = 0.0;
-    private double ltaSum = 0.0;
+    private final int staWindow;
+    private final int ltaWindow;
+    private final double threshold;
+    private final double windowScale;
+    private final CharacteristicFunction function;
+
+    // Prefix sums of the characteristic values; both windows are differences of two sums
+    private final CharacteristicSums sums;
+    private final int requiredSamples;
+    private final float[] single = new float[1];
 
     public StaLtaService(AppConfig config) {
-        this.config = config;
+        this(config, CharacteristicFunctions.get());
+    }
+
+    public StaLtaService(AppConfig config, CharacteristicFunction function) {
+        this(config, function, 0);
+    }
+
+    /**
+     * @param longestWindow longest window of other detectors reading {@link #sums()}; the sums keep
+     *                      at least that many samples
+     */
+    StaLtaService(AppConfig config, CharacteristicFunction function, int longestWindow) {
+        this.staWindow = config.staWindow();
+        this.ltaWindow = config.ltaWindow();
+        this.threshold = config.threshold();
+        this.windowScale = (double) ltaWindow / staWindow;
+        this.function = function;
+        this.requiredSamples = Math.max(staWindow, ltaWindow);
+        this.sums = new CharacteristicSums(function, Math.max(requiredSamples, longestWindow));
     }
 
     public boolean process(double sample) {
-        double absValue = Math.abs(sample);
-        updateBuffers(absValue);
+        single[0] = (float) sample;
+        sums.append(single, 0, 1);
 
-        if (isBuffersFull()) {
+        if (!isBuffersFull()) {
             return false;
         }
 
         double ratio = calculateRatio();
-        boolean detected = ratio > config.threshold();
+        boolean detected = ratio > threshold;
 
         if (detected) {
             log.debug("Event detected! STA/LTA ratio: {}", ratio);
@@ -35,37 +57,44 @@ public class StaLtaService {
         return detected;
     }
 
-    private void updateBuffers(double value) {
-        // Update STA buffer
-        staSum += value;
-        staBuffer.add(value);
-        if (staBuffer.size() > config.staWindow()) {
-            staSum -= staBuffer.remove();
-        }
+    /**
+     * Processes {@code len} samples starting at {@code off} and writes the STA/LTA ratio of each
+     * sample to the same index of {@code ratios}. Ratios are 0 until both windows are filled.
+     *
+     * @return number of samples whose ratio is above the trigger threshold
+     */
+    public int process(float[] block, int off, int len, float[] ratios) {
+        int start = sums.append(block, off, len);
+        int skipped = sums.incomplete(len, requiredSamples);
+        Arrays.fill(ratios, off, off + skipped, 0f);
+        return function.ratios(sums.sums(), start + skipped, start + len, staWindow, ltaWindow, threshold,
+            ratios, off + skipped);
+    }
 
-        // Update LTA buffer
-        ltaSum += value;
-        ltaBuffer.add(value);
-        if (ltaBuffer.size() > config.ltaWindow()) {
-            ltaSum -= ltaBuffer.remove();
-        }
+    /**
+     * Prefix sums of the samples processed so far, shared with the {@link DetectorBank} of the stream.
+     */
+    CharacteristicSums sums() {
+        return sums;
     }
 
     private boolean isBuffersFull() {
-        return staBuffer.size() < config.staWindow() ||
-            ltaBuffer.size() < config.ltaWindow();
+        return sums.filled() >= requiredSamples;
+    }
+
+    public double getThreshold() {
+        return threshold;
     }
 
     public double getCurrentRatio() {
-        if (isBuffersFull()) {
+        if (!isBuffersFull()) {
             return 0.0;
         }
         return calculateRatio();
     }
 
     private double calculateRatio() {
-        double sta = staSum / config.staWindow();
-        double lta = ltaSum / config.ltaWindow();
-        return lta != 0 ? sta / lta : 0.0;
+        double ltaSum = sums.windowSum(ltaWindow);
+        return ltaSum > 0 ? sums.windowSum(staWindow) * windowScale / ltaSum : 0.0;
     }
 }
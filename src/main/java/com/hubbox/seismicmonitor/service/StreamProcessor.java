@@ -0,0 +1,111 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.FilterType;
+import com.hubbox.seismicmonitor.diagnostics.StaLtaBlockEvent;
+import com.hubbox.seismicmonitor.metrics.StreamMetrics;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detector state of a single NET.STA.LOC.CHA stream. Used only from the ingest thread.
+ */
+@Slf4j
+public class StreamProcessor {
+    private static final String PRIMARY_DETECTOR = "primary";
+
+    @Getter private final StreamId streamId;
+    private final StaLtaService staLtaService;
+    private final TriggerStateMachine trigger;
+    private final DetectorBank detectorBank;
+    private final Consumer<SampleBlock> sink;
+    @Getter private final StreamMetrics metrics;
+    private final AppConfig config;
+    private BiquadFilter filter;
+    private double filterSampleRate = Double.NaN;
+
+    public StreamProcessor(StreamId streamId, AppConfig config, Consumer<SampleBlock> sink,
+                           TriggerListener triggerListener, DetectorBank detectorBank, StreamMetrics metrics) {
+        this.streamId = streamId;
+        // The bank reads the primary detector's sums, so they must cover its longest window too
+        this.staLtaService = new StaLtaService(config, CharacteristicFunctions.get(),
+            detectorBank == null ? 0 : detectorBank.longestWindow());
+        this.trigger = new TriggerStateMachine(streamId, PRIMARY_DETECTOR, config, triggerListener);
+        this.detectorBank = detectorBank;
+        this.sink = sink;
+        this.metrics = metrics;
+        this.config = config;
+    }
+
+    /**
+     * Runs one record through the pre-filter and the detector. {@code samples} is used as scratch
+     * space: the block keeps the unfiltered values, the detector sees the filtered ones.
+     */
+    public void process(float[] samples, int sampleCount, long startTimeNanos, double sampleRate) {
+        SampleBlock block = new SampleBlock(streamId, startTimeNanos, sampleRate, sampleCount);
+        float[] values = block.getValues();
+        float[] ratios = block.getRatios();
+        System.arraycopy(samples, 0, values, 0, sampleCount);
+
+        if (sampleRate != filterSampleRate) {
+            filter = designFilter(sampleRate);
+            filterSampleRate = sampleRate;
+        }
+        if (filter != null) {
+            filter.process(samples, samples, sampleCount);
+        }
+
+        StaLtaBlockEvent blockEvent = new StaLtaBlockEvent();
+        blockEvent.begin();
+        int detections = staLtaService.process(samples, 0, sampleCount, ratios);
+        if (detectorBank != null) {
+            detectorBank.process(staLtaService.sums(), sampleCount, block);
+        }
+        blockEvent.end();
+        if (blockEvent.shouldCommit()) {
+            blockEvent.stream = streamId.toString();
+            blockEvent.sampleCount = sampleCount;
+            blockEvent.detections = detections;
+            blockEvent.commit();
+        }
+
+        // Only blocks that can change the trigger state need the per-sample walk
+        if (detections > 0 || trigger.isTriggered()) {
+            trigger.process(block);
+        }
+
+        sink.accept(block);
+    }
+
+    /**
+     * Designs the configured pre-filter for the stream's sample rate. A lowpass corner at or above
+     * Nyquist is dropped, leaving a highpass; an unusable highpass corner disables the filter. Odd
+     * orders are rounded up.
+     */
+    private BiquadFilter designFilter(double sampleRate) {
+        FilterType type = config.filterType();
+        if (type == null || type == FilterType.NONE || sampleRate <= 0) {
+            return null;
+        }
+        double nyquist = sampleRate / 2;
+        double low = config.filterLowHz();
+        double high = config.filterHighHz();
+        int order = Math.max(2, (config.filterOrder() + 1) / 2 * 2);
+        if (low <= 0 || low >= nyquist) {
+            log.warn("Pre-filter disabled for {}: corner {} Hz not below Nyquist {} Hz", streamId, low, nyquist);
+            return null;
+        }
+        if (type == FilterType.BANDPASS && high < nyquist && high > low) {
+            log.info("Pre-filter for {}: bandpass {}-{} Hz, order {}", streamId, low, high, order);
+            return BiquadFilter.bandpass(low, high, sampleRate, order);
+        }
+        if (type == FilterType.BANDPASS) {
+            log.warn("Lowpass corner {} Hz unusable at {} Hz for {}, using highpass only", high, sampleRate, streamId);
+        }
+        log.info("Pre-filter for {}: highpass {} Hz, order {}", streamId, low, order);
+        return BiquadFilter.highpass(low, sampleRate, order);
+    }
+}
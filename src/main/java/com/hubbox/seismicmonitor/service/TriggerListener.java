@@ -0,0 +1,17 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+
+/**
+ * Receives the output of a {@link TriggerStateMachine} on the ingest thread.
+ */
+public interface TriggerListener {
+
+    /**
+     * A trigger turned on; called before it is known whether it will be long enough to become an event.
+     */
+    void triggerOn(StreamId streamId, long onsetNanos);
+
+    void eventCompleted(SeismicEvent event);
+}
@@ -0,0 +1,143 @@
+package com.hubbox.seismicmonitor.service;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.diagnostics.TriggerEvent;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.time.Instant;
+
+/**
+ * Turns the STA/LTA ratios of one stream into discrete events. A trigger turns on when the ratio
+ * rises above {@code threshold} and ends once it has stayed below {@code triggerOffThreshold} for
+ * {@code triggerHold} seconds; rising above {@code threshold} again during the hold continues the
+ * same event. Triggers shorter than {@code minTriggerDuration} are discarded.
+ * <p>
+ * The listener is told about every onset, and receives exactly one {@link SeismicEvent} per
+ * accepted trigger when it ends.
+ */
+public class TriggerStateMachine {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private enum State {
+        IDLE,
+        ACTIVE,
+        HOLDING
+    }
+
+    private final StreamId streamId;
+    private final String detector;
+    private final double onThreshold;
+    private final double offThreshold;
+    private final long minDurationNanos;
+    private final long holdNanos;
+    private final TriggerListener listener;
+
+    private State state = State.IDLE;
+    private long onsetNanos;
+    private long offNanos;
+    private float peakRatio;
+    private float peakAmplitude;
+
+    public TriggerStateMachine(StreamId streamId, String detector, AppConfig config, TriggerListener listener) {
+        this.streamId = streamId;
+        this.detector = detector;
+        this.onThreshold = config.threshold();
+        // Without hysteresis the trigger would chatter around a single threshold
+        this.offThreshold = Math.min(config.triggerOffThreshold(), onThreshold);
+        this.minDurationNanos = Math.round(config.minTriggerDuration() * NANOS_PER_SECOND);
+        this.holdNanos = Math.round(config.triggerHold() * NANOS_PER_SECOND);
+        this.listener = listener;
+    }
+
+    /**
+     * Advances over the ratios of {@code block} and marks the samples during which the trigger is on.
+     */
+    public void process(SampleBlock block) {
+        process(block, block.getRatios(), true);
+    }
+
+    /**
+     * Advances over {@code ratios}, which belong to the samples of {@code block}; with {@code mark}
+     * the samples during which the trigger is on are marked in the block.
+     */
+    public void process(SampleBlock block, float[] ratios, boolean mark) {
+        final float[] values = block.getValues();
+        final int length = block.getLength();
+
+        for (int i = 0; i < length; i++) {
+            float ratio = ratios[i];
+            switch (state) {
+                case IDLE -> {
+                    if (ratio > onThreshold) {
+                        start(block.timeNanosAt(i), ratio);
+                    }
+                }
+                case ACTIVE -> {
+                    if (ratio < offThreshold) {
+                        state = State.HOLDING;
+                        offNanos = block.timeNanosAt(i);
+                    }
+                }
+                case HOLDING -> {
+                    if (ratio > onThreshold) {
+                        state = State.ACTIVE;
+                    } else if (block.timeNanosAt(i) - offNanos >= holdNanos) {
+                        finish();
+                    }
+                }
+            }
+
+            if (state == State.ACTIVE) {
+                if (mark) {
+                    block.markDetected(i);
+                }
+                peakRatio = Math.max(peakRatio, ratio);
+                peakAmplitude = Math.max(peakAmplitude, Math.abs(values[i]));
+            }
+        }
+    }
+
+    public boolean isTriggered() {
+        return state != State.IDLE;
+    }
+
+    private void start(long timeNanos, float ratio) {
+        state = State.ACTIVE;
+        onsetNanos = timeNanos;
+        peakRatio = 0f;
+        peakAmplitude = 0f;
+        recordTransition(true, ratio, timeNanos);
+        listener.triggerOn(streamId, timeNanos);
+    }
+
+    private void finish() {
+        state = State.IDLE;
+        recordTransition(false, peakRatio, offNanos);
+        if (offNanos - onsetNanos < minDurationNanos) {
+            return;
+        }
+        listener.eventCompleted(new SeismicEvent(
+            Instant.ofEpochSecond(0, onsetNanos),
+            Instant.ofEpochSecond(0, offNanos),
+            peakRatio,
+            peakAmplitude,
+            streamId.network(),
+            streamId.station(),
+            streamId.location(),
+            streamId.channel()
+        ));
+    }
+
+    private void recordTransition(boolean on, double ratio, long timeNanos) {
+        TriggerEvent event = new TriggerEvent();
+        if (event.shouldCommit()) {
+            event.stream = streamId.toString();
+            event.detector = detector;
+            event.on = on;
+            event.ratio = ratio;
+            event.sampleTime = timeNanos / 1_000_000L;
+            event.commit();
+        }
+    }
+}
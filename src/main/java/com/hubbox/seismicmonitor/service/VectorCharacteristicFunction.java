@@ -0,0 +1,64 @@
+package com.hubbox.seismicmonitor.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of the ratio kernel: window sums, scaling, division, the zero-LTA guard
+ * and the threshold count are done a full vector of doubles at a time, and the ratios are narrowed
+ * to a float vector of half the bit size. Tails use the scalar loop.
+ * <p>
+ * Only loaded by {@link CharacteristicFunctions} when {@code jdk.incubator.vector} is in the boot
+ * layer.
+ */
+final class VectorCharacteristicFunction implements CharacteristicFunction {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOATS =
+        VectorSpecies.of(float.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    VectorCharacteristicFunction() {
+        if (DOUBLES.length() < 2 || FLOATS.length() != DOUBLES.length()) {
+            throw new UnsupportedOperationException("No usable vector shape: " + DOUBLES);
+        }
+    }
+
+    @Override
+    public void accumulate(float[] samples, int off, int len, double[] prefix, int to) {
+        // An in-register scan (log2(lanes) shuffles and adds per vector) measured no faster than the
+        // scalar chain of one add per sample, so only the ratios are vectorized
+        ScalarCharacteristicFunction.INSTANCE.accumulate(samples, off, len, prefix, to);
+    }
+
+    @Override
+    public int ratios(double[] prefix, int from, int to, int staWindow, int ltaWindow, double threshold,
+                      float[] ratios, int out) {
+        final int lanes = DOUBLES.length();
+        final double scale = (double) ltaWindow / staWindow;
+        final DoubleVector zero = DoubleVector.zero(DOUBLES);
+        int detections = 0;
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += lanes) {
+            DoubleVector current = DoubleVector.fromArray(DOUBLES, prefix, i);
+            DoubleVector lta = current.sub(DoubleVector.fromArray(DOUBLES, prefix, i - ltaWindow));
+            DoubleVector sta = current.sub(DoubleVector.fromArray(DOUBLES, prefix, i - staWindow));
+            VectorMask<Double> valid = lta.compare(VectorOperators.GT, 0.0);
+            DoubleVector ratio = zero.blend(sta.mul(scale).div(lta), valid);
+            ((FloatVector) ratio.convertShape(VectorOperators.D2F, FLOATS, 0)).intoArray(ratios, out + i - from);
+            detections += ratio.compare(VectorOperators.GT, threshold).trueCount();
+        }
+        if (i < to) {
+            detections += ScalarCharacteristicFunction.ratios(prefix, i, to, staWindow, ltaWindow, scale,
+                threshold, ratios, out + i - from);
+        }
+        return detections;
+    }
+
+    @Override
+    public String name() {
+        return "vector (" + DOUBLES.length() + " lanes)";
+    }
+}
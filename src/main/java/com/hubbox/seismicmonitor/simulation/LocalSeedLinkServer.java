@@ -0,0 +1,370 @@
+package com.hubbox.seismicmonitor.simulation;
+
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Minimal in-process SeedLink v3 server serving synthetic miniSEED for any requested station, so
+ * ingest capacity and reconnect behaviour can be measured without a network.
+ * <p>
+ * Supports HELLO, STATION, SELECT, DATA/FETCH (with resume sequence), TIME, END and BYE. Data is
+ * sent as {@code "SL" + 6 hex digit sequence + 512 byte record} packets as soon as each record's
+ * time has passed, so TIME requests in the past produce an initial backfill burst. Optional
+ * periodic bursts (sending is paused, then catches up at once) and forced disconnects are
+ * configured through {@link SimulatorConfig}.
+ */
+@Slf4j
+public class LocalSeedLinkServer implements AutoCloseable {
+    private static final String CRLF = "\r\n";
+    private static final int MAX_SEQUENCE = 0xFFFFFF;
+    private static final long POLL_INTERVAL_MS = 10;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final String DEFAULT_NETWORK = "XX";
+
+    private final SimulatorConfig config;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "seedlink-sim-connection");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Station state outlives connections so clients can resume by sequence number
+    private final Map<String, StationState> stations = new ConcurrentHashMap<>();
+    private final List<Socket> openSockets = new ArrayList<>();
+    private final AtomicLong packetsSent = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+    private volatile boolean running = true;
+
+    public LocalSeedLinkServer(SimulatorConfig config) throws IOException {
+        this.config = config;
+        this.serverSocket = new ServerSocket(config.port());
+        Thread acceptor = new Thread(this::acceptLoop, "seedlink-sim-acceptor");
+        acceptor.start();
+        log.info("Simulated SeedLink server listening on port {}", getPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getPacketsSent() {
+        return packetsSent.get();
+    }
+
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                synchronized (openSockets) {
+                    openSockets.add(socket);
+                }
+                connectionCount.incrementAndGet();
+                connections.execute(() -> handleConnection(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.error("Error accepting SeedLink connection", e);
+                }
+            }
+        }
+    }
+
+    private void handleConnection(Socket socket) {
+        log.info("Client connected from {}", socket.getRemoteSocketAddress());
+        try (socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            List<Subscription> subscriptions = handshake(in, out);
+            if (subscriptions != null) {
+                stream(subscriptions, out);
+            }
+        } catch (SocketException e) {
+            log.info("Client {} disconnected: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } catch (IOException e) {
+            log.error("Error serving SeedLink client", e);
+        } finally {
+            synchronized (openSockets) {
+                openSockets.remove(socket);
+            }
+        }
+    }
+
+    /**
+     * @return the subscriptions after END, or null if the client left during the handshake
+     */
+    private List<Subscription> handshake(BufferedReader in, OutputStream out) throws IOException {
+        List<Subscription> subscriptions = new ArrayList<>();
+        Subscription current = null;
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] tokens = line.trim().split("\\s+");
+            String command = tokens[0].toUpperCase(Locale.ROOT);
+            log.debug("Command: {}", line);
+            switch (command) {
+                case "HELLO" -> send(out, "SeedLink v3.1 (LocalSeedLinkServer)" + CRLF + "Local simulated SeedLink" + CRLF);
+                case "STATION" -> {
+                    if (tokens.length < 2) {
+                        send(out, "ERROR" + CRLF);
+                        continue;
+                    }
+                    current = new Subscription(tokens.length > 2 ? tokens[2] : DEFAULT_NETWORK, tokens[1]);
+                    send(out, "OK" + CRLF);
+                }
+                case "SELECT" -> {
+                    if (current == null || tokens.length < 2) {
+                        send(out, "ERROR" + CRLF);
+                        continue;
+                    }
+                    current.selectors.add(tokens[1]);
+                    send(out, "OK" + CRLF);
+                }
+                case "DATA", "FETCH" -> {
+                    if (current == null) {
+                        send(out, "ERROR" + CRLF);
+                        continue;
+                    }
+                    current.resumeSequence = tokens.length > 1 ? Integer.parseInt(tokens[1], 16) : -1;
+                    subscriptions.add(current);
+                    current = null;
+                    send(out, "OK" + CRLF);
+                }
+                case "TIME" -> {
+                    if (current == null || tokens.length < 2) {
+                        send(out, "ERROR" + CRLF);
+                        continue;
+                    }
+                    current.startNanos = parseTime(tokens[1]);
+                    subscriptions.add(current);
+                    current = null;
+                    send(out, "OK" + CRLF);
+                }
+                case "END" -> {
+                    return subscriptions;
+                }
+                case "BYE" -> {
+                    return null;
+                }
+                default -> send(out, "ERROR" + CRLF);
+            }
+        }
+        return null;
+    }
+
+    private void stream(List<Subscription> subscriptions, OutputStream out) throws IOException {
+        List<StationState> states = new ArrayList<>();
+        List<SyntheticRecordFactory> factories = new ArrayList<>();
+        long now = currentTimeNanos();
+        for (Subscription subscription : subscriptions) {
+            StationState state = stations.computeIfAbsent(subscription.key(), key -> new StationState());
+            factories.addAll(state.subscribe(subscription, now, config));
+            states.add(state);
+        }
+        log.info("Streaming {} channels of {} stations", factories.size(), states.size());
+
+        long connectedAt = System.nanoTime();
+        while (running) {
+            long elapsedSeconds = (System.nanoTime() - connectedAt) / (1000 * NANOS_PER_MILLI);
+            if (config.disconnectAfterSeconds() > 0 && elapsedSeconds >= config.disconnectAfterSeconds()) {
+                log.info("Simulating disconnect after {} s", elapsedSeconds);
+                return;
+            }
+
+            boolean holding = config.burstIntervalSeconds() > 0
+                && elapsedSeconds % config.burstIntervalSeconds() < config.burstLengthSeconds();
+            if (!holding) {
+                now = currentTimeNanos();
+                for (SyntheticRecordFactory factory : factories) {
+                    StationState state = stations.get(stationKey(factory.getStreamId()));
+                    while (factory.nextEndNanos() <= now) {
+                        int sequence = state.nextSequence();
+                        out.write(String.format("SL%06X", sequence).getBytes(StandardCharsets.US_ASCII));
+                        out.write(factory.nextRecord(sequence), 0, SyntheticRecordFactory.RECORD_LENGTH);
+                        packetsSent.incrementAndGet();
+                    }
+                }
+                out.flush();
+            }
+
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void send(OutputStream out, String response) throws IOException {
+        out.write(response.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /**
+     * Parses a SeedLink time argument {@code year,month,day,hour,minute,second}.
+     */
+    private static long parseTime(String value) {
+        String[] parts = value.split(",");
+        int[] fields = new int[6];
+        for (int i = 0; i < parts.length && i < fields.length; i++) {
+            fields[i] = Integer.parseInt(parts[i].trim());
+        }
+        LocalDateTime time = LocalDateTime.of(fields[0], Math.max(fields[1], 1), Math.max(fields[2], 1),
+            fields[3], fields[4], fields[5]);
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 * NANOS_PER_MILLI;
+    }
+
+    private static long currentTimeNanos() {
+        return System.currentTimeMillis() * NANOS_PER_MILLI;
+    }
+
+    private static String stationKey(StreamId streamId) {
+        return streamId.network() + "_" + streamId.station();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            log.debug("Error closing server socket", e);
+        }
+        synchronized (openSockets) {
+            for (Socket socket : openSockets) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    log.debug("Error closing client socket", e);
+                }
+            }
+        }
+        connections.shutdownNow();
+        log.info("Simulated SeedLink server stopped after {} packets", packetsSent.get());
+    }
+
+    private static final class Subscription {
+        private final String network;
+        private final String station;
+        private final List<String> selectors = new ArrayList<>();
+        private int resumeSequence = -1;
+        private long startNanos = -1;
+
+        private Subscription(String network, String station) {
+            this.network = network;
+            this.station = station;
+        }
+
+        private String key() {
+            return network + "_" + station;
+        }
+    }
+
+    private static final class StationState {
+        private final Map<StreamId, SyntheticRecordFactory> factories = new LinkedHashMap<>();
+        private int lastSequence = -1;
+
+        private synchronized List<SyntheticRecordFactory> subscribe(Subscription subscription, long now,
+                                                                  SimulatorConfig config) {
+            boolean resume = subscription.resumeSequence >= 0 && subscription.resumeSequence == lastSequence + 1;
+            if (subscription.resumeSequence >= 0 && !resume) {
+                lastSequence = (subscription.resumeSequence - 1) & MAX_SEQUENCE;
+            }
+
+            List<String> selectors = subscription.selectors.isEmpty() ? List.of(config.selector()) : subscription.selectors;
+            List<SyntheticRecordFactory> selected = new ArrayList<>();
+            for (String selector : selectors) {
+                StreamId streamId = streamIdOf(subscription, selector);
+                SyntheticRecordFactory factory = factories.get(streamId);
+                if (factory == null) {
+                    long start = subscription.startNanos >= 0 ? subscription.startNanos : now;
+                    factory = new SyntheticRecordFactory(streamId, config.sampleRate(),
+                        config.seed() ^ streamId.hashCode(), start);
+                    factories.put(streamId, factory);
+                } else if (subscription.startNanos >= 0) {
+                    factory.resetTime(subscription.startNanos);
+                } else if (!resume) {
+                    factory.resetTime(now);
+                }
+                selected.add(factory);
+            }
+            return selected;
+        }
+
+        private synchronized int nextSequence() {
+            lastSequence = (lastSequence + 1) & MAX_SEQUENCE;
+            return lastSequence;
+        }
+
+        /**
+         * Turns a {@code LLCCC} or {@code CCC} selector into a concrete stream; {@code ?} wildcards
+         * are filled from the BHZ channel.
+         */
+        private static StreamId streamIdOf(Subscription subscription, String selector) {
+            String location = selector.length() > 3 ? selector.substring(0, selector.length() - 3) : "";
+            String channel = selector.substring(Math.max(0, selector.length() - 3));
+            StringBuilder resolved = new StringBuilder("BHZ");
+            for (int i = 0; i < channel.length(); i++) {
+                if (channel.charAt(i) != '?') {
+                    resolved.setCharAt(i, channel.charAt(i));
+                }
+            }
+            return new StreamId(subscription.network, subscription.station,
+                location.replace('?', '0').replace('-', ' ').trim(), resolved.toString());
+        }
+    }
+
+    /**
+     * Runs a standalone server. Arguments are {@code key=value} pairs overriding
+     * {@link SimulatorConfig} defaults: port, network, stations, selector, sampleRate, seed,
+     * burstEvery, burstLength, disconnectAfter.
+     */
+    public static void main(String[] args) throws IOException {
+        SimulatorConfig.SimulatorConfigBuilder builder = new SimulatorConfig().toBuilder();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected key=value: " + arg);
+            }
+            String value = pair[1];
+            switch (pair[0]) {
+                case "port" -> builder.port(Integer.parseInt(value));
+                case "network" -> builder.network(value);
+                case "stations" -> builder.stationCount(Integer.parseInt(value));
+                case "selector" -> builder.selector(value);
+                case "sampleRate" -> builder.sampleRate(Integer.parseInt(value));
+                case "seed" -> builder.seed(Long.parseLong(value));
+                case "burstEvery" -> builder.burstIntervalSeconds(Integer.parseInt(value));
+                case "burstLength" -> builder.burstLengthSeconds(Integer.parseInt(value));
+                case "disconnectAfter" -> builder.disconnectAfterSeconds(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + pair[0]);
+            }
+        }
+        SimulatorConfig config = builder.build();
+        new LocalSeedLinkServer(config);
+        log.info("Streams setting for {} simulated stations: {}", config.stationCount(), config.streamsSelection());
+    }
+}
@@ -0,0 +1,48 @@
+package com.hubbox.seismicmonitor.simulation;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Builder;
+
+/**
+ * Settings of the {@link LocalSeedLinkServer}. Intervals of 0 disable bursts and disconnects.
+ */
+@Builder(toBuilder = true)
+public record SimulatorConfig(
+    Integer port,
+    String network,
+    Integer stationCount,
+    String selector,
+    Integer sampleRate,
+    Long seed,
+    Integer burstIntervalSeconds,
+    Integer burstLengthSeconds,
+    Integer disconnectAfterSeconds
+) {
+    public SimulatorConfig() {
+        this(
+            18000,
+            "XX",
+            100,
+            "00BHZ",
+            40,
+            42L,
+            0,
+            0,
+            0
+        );
+    }
+
+    public String stationName(int index) {
+        return String.format("S%04d", index);
+    }
+
+    /**
+     * Value for {@code AppConfig.streams} that subscribes to every simulated station.
+     */
+    public String streamsSelection() {
+        return IntStream.range(0, stationCount)
+            .mapToObj(i -> network + "_" + stationName(i) + ":" + selector)
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,162 @@
+package com.hubbox.seismicmonitor.simulation;
+
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * Produces consecutive 512-byte miniSEED data records of a synthetic waveform for one stream:
+ * background noise with a microseism-like sine and an occasional decaying event. Records use
+ * INT32 encoding with a blockette 1000, so every record holds {@value #SAMPLES_PER_RECORD} samples.
+ * Only integer sample rates are supported.
+ */
+public class SyntheticRecordFactory {
+    public static final int RECORD_LENGTH = 512;
+    public static final int SAMPLES_PER_RECORD = (RECORD_LENGTH - 64) / Integer.BYTES;
+
+    private static final int DATA_OFFSET = 64;
+    private static final int BLOCKETTE_OFFSET = 48;
+    private static final int ENCODING_INT32 = 3;
+    private static final int RECORD_LENGTH_EXPONENT = 9;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_TENTH_MILLI = 100_000L;
+
+    private static final double NOISE_AMPLITUDE = 800;
+    private static final double MICROSEISM_AMPLITUDE = 1500;
+    private static final double MICROSEISM_PERIOD_SECONDS = 6.0;
+    private static final double EVENT_AMPLITUDE = 40_000;
+    private static final double EVENT_DECAY_SECONDS = 20.0;
+    private static final double EVENT_FREQUENCY_HZ = 2.0;
+    private static final double EVENTS_PER_HOUR = 2.0;
+
+    private final StreamId streamId;
+    private final int sampleRate;
+    private final Random random;
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_LENGTH).order(ByteOrder.BIG_ENDIAN);
+    private long nextStartNanos;
+    private long sampleIndex;
+    private long eventStartSample = -1;
+
+    public SyntheticRecordFactory(StreamId streamId, int sampleRate, long seed, long startNanos) {
+        if (sampleRate <= 0 || sampleRate > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported sample rate: " + sampleRate);
+        }
+        this.streamId = streamId;
+        this.sampleRate = sampleRate;
+        this.random = new Random(seed);
+        this.nextStartNanos = startNanos;
+    }
+
+    public StreamId getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * Start time of the record that {@link #nextRecord(int)} will produce next.
+     */
+    public long nextStartNanos() {
+        return nextStartNanos;
+    }
+
+    /**
+     * End time of the record that {@link #nextRecord(int)} will produce next; the record is
+     * complete, and may be sent, once this time has passed.
+     */
+    public long nextEndNanos() {
+        return nextStartNanos + SAMPLES_PER_RECORD * NANOS_PER_SECOND / sampleRate;
+    }
+
+    /**
+     * Moves the stream to a new start time, e.g. for a TIME request.
+     */
+    public void resetTime(long startNanos) {
+        nextStartNanos = startNanos;
+    }
+
+    /**
+     * Builds the next record. The returned array is reused by the next call.
+     */
+    public byte[] nextRecord(int sequence) {
+        buffer.clear();
+        writeHeader(sequence);
+        buffer.position(DATA_OFFSET);
+        for (int i = 0; i < SAMPLES_PER_RECORD; i++) {
+            buffer.putInt(nextSample());
+        }
+        nextStartNanos = nextEndNanos();
+        return buffer.array();
+    }
+
+    private void writeHeader(int sequence) {
+        buffer.put(String.format("%06d", sequence % 1_000_000).getBytes(StandardCharsets.US_ASCII));
+        buffer.put((byte) 'D');
+        buffer.put((byte) ' ');
+        putPadded(streamId.station(), 5);
+        putPadded(streamId.location(), 2);
+        putPadded(streamId.channel(), 3);
+        putPadded(streamId.network(), 2);
+
+        long seconds = Math.floorDiv(nextStartNanos, NANOS_PER_SECOND);
+        long nanos = Math.floorMod(nextStartNanos, NANOS_PER_SECOND);
+        LocalDateTime start = LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+        buffer.putShort((short) start.getYear());
+        buffer.putShort((short) start.getDayOfYear());
+        buffer.put((byte) start.getHour());
+        buffer.put((byte) start.getMinute());
+        buffer.put((byte) start.getSecond());
+        buffer.put((byte) 0);
+        buffer.putShort((short) (nanos / NANOS_PER_TENTH_MILLI));
+
+        buffer.putShort((short) SAMPLES_PER_RECORD);
+        buffer.putShort((short) sampleRate);
+        buffer.putShort((short) 1);
+        buffer.put((byte) 0);
+        buffer.put((byte) 0);
+        buffer.put((byte) 0);
+        buffer.put((byte) 1);
+        buffer.putInt(0);
+        buffer.putShort((short) DATA_OFFSET);
+        buffer.putShort((short) BLOCKETTE_OFFSET);
+
+        buffer.putShort((short) 1000);
+        buffer.putShort((short) 0);
+        buffer.put((byte) ENCODING_INT32);
+        buffer.put((byte) 1);
+        buffer.put((byte) RECORD_LENGTH_EXPONENT);
+        buffer.put((byte) 0);
+        while (buffer.position() < DATA_OFFSET) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private void putPadded(String code, int length) {
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) (i < code.length() ? code.charAt(i) : ' '));
+        }
+    }
+
+    private int nextSample() {
+        double t = (double) sampleIndex / sampleRate;
+        double value = random.nextGaussian() * NOISE_AMPLITUDE
+            + MICROSEISM_AMPLITUDE * Math.sin(2 * Math.PI * t / MICROSEISM_PERIOD_SECONDS);
+
+        if (eventStartSample < 0 && random.nextDouble() < EVENTS_PER_HOUR / (3600.0 * sampleRate)) {
+            eventStartSample = sampleIndex;
+        }
+        if (eventStartSample >= 0) {
+            double elapsed = (double) (sampleIndex - eventStartSample) / sampleRate;
+            double envelope = Math.exp(-elapsed / EVENT_DECAY_SECONDS);
+            value += EVENT_AMPLITUDE * envelope * Math.sin(2 * Math.PI * EVENT_FREQUENCY_HZ * elapsed);
+            if (envelope < 0.01) {
+                eventStartSample = -1;
+            }
+        }
+
+        sampleIndex++;
+        return (int) Math.round(value);
+    }
+}
@@ -5,36 +5,84 @@ import static com.hubbox.seismicmonitor.constants.MonitorViewText.Dialog.CONFIG_
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Dialog.CONFIG_TITLE;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Dialog.CONNECTION_SETTINGS;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Dialog.SAVE;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.ARCHIVE_DIRECTORY_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.ARCHIVE_DIRECTORY_PROMPT;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.CHANNEL_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.EVENT_STORE_FILE_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.EVENT_STORE_FILE_PROMPT;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.CHANNEL_PROMPT;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.DETECTOR_BANK_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.DETECTOR_BANK_PROMPT;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.FILTER_HIGH_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.FILTER_LOW_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.FILTER_ORDER_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.FILTER_TYPE_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.COINCIDENCE_THRESHOLD_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.COINCIDENCE_WINDOW_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.HOST_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.HOST_PROMPT;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.LTA_WINDOW_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.MAX_DATA_POINTS_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.METRICS_PORT_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.MIN_TRIGGER_DURATION_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.NETWORK_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.NETWORK_PROMPT;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.NORMALIZATION_FACTOR_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.PORT_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.REPLAY_PATH_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.REPLAY_FROM_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.REPLAY_PATH_PROMPT;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.REPLAY_SPEED_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.REPLAY_TIME_PROMPT;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.REPLAY_TO_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.STATION_LABEL;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.STATION_PROMPT;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.STATION_WEIGHTS_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.STATION_WEIGHTS_PROMPT;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.STA_WINDOW_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.STREAMS_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.STREAMS_PROMPT;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.THRESHOLD_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.TRIGGER_HOLD_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Form.TRIGGER_OFF_THRESHOLD_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.ARCHIVE_DIRECTORY;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.CHANNEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.COINCIDENCE_THRESHOLD;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.COINCIDENCE_WINDOW;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.DETECTOR_BANK;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.EVENT_STORE_FILE;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.FILTER_HIGH;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.FILTER_LOW;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.FILTER_ORDER;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.FILTER_TYPE;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.HOST;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.LTA_WINDOW;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.MAX_DATA_POINTS;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.METRICS_PORT;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.MIN_TRIGGER_DURATION;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.NETWORK;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.NORMALIZATION_FACTOR;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.PORT;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.REPLAY_PATH;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.REPLAY_SPEED;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.REPLAY_WINDOW;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.STATION;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.STATION_WEIGHTS;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.STA_WINDOW;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.STREAMS;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.THRESHOLD;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.TRIGGER_HOLD;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Tooltip.TRIGGER_OFF_THRESHOLD;
 
 import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.FilterType;
+import com.hubbox.seismicmonitor.config.StreamSelection;
+import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
@@ -49,15 +97,35 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ConfigurationDialog extends Dialog<AppConfig> {
     private static final String REGEX = "[A-Za-z0-9]*";
+    private static final String STREAMS_REGEX = "[A-Za-z0-9_:,? ]*";
     private static final String BORDER_RED = "-fx-border-color: red";
     private final TextField hostField;
     private final Spinner<Integer> portSpinner;
     private final TextField networkField;
     private final TextField stationField;
     private final TextField channelField;
+    private final TextField streamsField;
+    private final TextField archiveDirectoryField;
+    private final TextField eventStoreFileField;
+    private final TextField replayPathField;
+    private final TextField replayFromField;
+    private final TextField replayToField;
+    private final Spinner<Double> replaySpeedSpinner;
+    private final Spinner<Integer> metricsPortSpinner;
     private final Spinner<Integer> staWindowSpinner;
     private final Spinner<Integer> ltaWindowSpinner;
     private final Spinner<Double> thresholdSpinner;
+    private final Spinner<Double> triggerOffThresholdSpinner;
+    private final Spinner<Double> minTriggerDurationSpinner;
+    private final Spinner<Double> triggerHoldSpinner;
+    private final Spinner<Double> coincidenceWindowSpinner;
+    private final Spinner<Double> coincidenceThresholdSpinner;
+    private final TextField stationWeightsField;
+    private final ComboBox<FilterType> filterTypeBox;
+    private final Spinner<Double> filterLowSpinner;
+    private final Spinner<Double> filterHighSpinner;
+    private final Spinner<Integer> filterOrderSpinner;
+    private final TextField detectorBankField;
     private final Spinner<Integer> maxDataPointsSpinner;
     private final Spinner<Double> normalizationFactorSpinner;
     private final AppConfig currentConfig;
@@ -82,9 +150,28 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
         networkField = createTextFieldWithRegexValidation(NETWORK_PROMPT);
         stationField = createTextFieldWithRegexValidation(STATION_PROMPT);
         channelField = createTextFieldWithRegexValidation(CHANNEL_PROMPT);
+        streamsField = createStreamsField();
+        archiveDirectoryField = createArchiveDirectoryField();
+        eventStoreFileField = createEventStoreFileField();
+        replayPathField = createReplayPathField();
+        replayFromField = createReplayTimeField();
+        replayToField = createReplayTimeField();
+        replaySpeedSpinner = createReplaySpeedSpinner();
+        metricsPortSpinner = createMetricsPortSpinner();
         staWindowSpinner = createStaWindowSpinner();
         ltaWindowSpinner = createLtaWindowSpinner();
         thresholdSpinner = createThresholdSpinner();
+        triggerOffThresholdSpinner = createTriggerOffThresholdSpinner();
+        minTriggerDurationSpinner = createSecondsSpinner(1.0);
+        triggerHoldSpinner = createSecondsSpinner(2.0);
+        coincidenceWindowSpinner = createSecondsSpinner(10.0);
+        coincidenceThresholdSpinner = createCoincidenceThresholdSpinner();
+        stationWeightsField = createStationWeightsField();
+        filterTypeBox = new ComboBox<>(FXCollections.observableArrayList(FilterType.values()));
+        filterLowSpinner = createFrequencySpinner(1.0);
+        filterHighSpinner = createFrequencySpinner(10.0);
+        filterOrderSpinner = createFilterOrderSpinner();
+        detectorBankField = createDetectorBankField();
         maxDataPointsSpinner = createMaxDataPointsSpinner();
         normalizationFactorSpinner = createNormalizationFactorSpinner();
 
@@ -135,6 +222,22 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
             connectionGrid.add(stationField, 1, 3);
             connectionGrid.add(new Label(CHANNEL_LABEL), 0, 4);
             connectionGrid.add(channelField, 1, 4);
+            connectionGrid.add(new Label(STREAMS_LABEL), 0, 5);
+            connectionGrid.add(streamsField, 1, 5);
+            connectionGrid.add(new Label(ARCHIVE_DIRECTORY_LABEL), 0, 6);
+            connectionGrid.add(archiveDirectoryField, 1, 6);
+            connectionGrid.add(new Label(EVENT_STORE_FILE_LABEL), 0, 7);
+            connectionGrid.add(eventStoreFileField, 1, 7);
+            connectionGrid.add(new Label(REPLAY_PATH_LABEL), 0, 8);
+            connectionGrid.add(replayPathField, 1, 8);
+            connectionGrid.add(new Label(REPLAY_FROM_LABEL), 0, 9);
+            connectionGrid.add(replayFromField, 1, 9);
+            connectionGrid.add(new Label(REPLAY_TO_LABEL), 0, 10);
+            connectionGrid.add(replayToField, 1, 10);
+            connectionGrid.add(new Label(REPLAY_SPEED_LABEL), 0, 11);
+            connectionGrid.add(replaySpeedSpinner, 1, 11);
+            connectionGrid.add(new Label(METRICS_PORT_LABEL), 0, 12);
+            connectionGrid.add(metricsPortSpinner, 1, 12);
 
             section.getChildren().add(connectionGrid);
         } else {
@@ -149,10 +252,32 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
             analysisGrid.add(new Label(LTA_WINDOW_LABEL), 0, 1);
             analysisGrid.add(new Label(THRESHOLD_LABEL), 0, 2);
             analysisGrid.add(thresholdSpinner, 1, 2);
-            analysisGrid.add(new Label(MAX_DATA_POINTS_LABEL), 0, 3);
-            analysisGrid.add(maxDataPointsSpinner, 1, 3);
-            analysisGrid.add(normalizationFactorSpinner, 1, 4);
-            analysisGrid.add(new Label(NORMALIZATION_FACTOR_LABEL), 0, 4);
+            analysisGrid.add(new Label(TRIGGER_OFF_THRESHOLD_LABEL), 0, 3);
+            analysisGrid.add(triggerOffThresholdSpinner, 1, 3);
+            analysisGrid.add(new Label(MIN_TRIGGER_DURATION_LABEL), 0, 4);
+            analysisGrid.add(minTriggerDurationSpinner, 1, 4);
+            analysisGrid.add(new Label(TRIGGER_HOLD_LABEL), 0, 5);
+            analysisGrid.add(triggerHoldSpinner, 1, 5);
+            analysisGrid.add(new Label(COINCIDENCE_WINDOW_LABEL), 0, 6);
+            analysisGrid.add(coincidenceWindowSpinner, 1, 6);
+            analysisGrid.add(new Label(COINCIDENCE_THRESHOLD_LABEL), 0, 7);
+            analysisGrid.add(coincidenceThresholdSpinner, 1, 7);
+            analysisGrid.add(new Label(STATION_WEIGHTS_LABEL), 0, 8);
+            analysisGrid.add(stationWeightsField, 1, 8);
+            analysisGrid.add(new Label(FILTER_TYPE_LABEL), 0, 9);
+            analysisGrid.add(filterTypeBox, 1, 9);
+            analysisGrid.add(new Label(FILTER_LOW_LABEL), 0, 10);
+            analysisGrid.add(filterLowSpinner, 1, 10);
+            analysisGrid.add(new Label(FILTER_HIGH_LABEL), 0, 11);
+            analysisGrid.add(filterHighSpinner, 1, 11);
+            analysisGrid.add(new Label(FILTER_ORDER_LABEL), 0, 12);
+            analysisGrid.add(filterOrderSpinner, 1, 12);
+            analysisGrid.add(new Label(DETECTOR_BANK_LABEL), 0, 13);
+            analysisGrid.add(detectorBankField, 1, 13);
+            analysisGrid.add(new Label(MAX_DATA_POINTS_LABEL), 0, 14);
+            analysisGrid.add(maxDataPointsSpinner, 1, 14);
+            analysisGrid.add(normalizationFactorSpinner, 1, 15);
+            analysisGrid.add(new Label(NORMALIZATION_FACTOR_LABEL), 0, 15);
 
             section.getChildren().add(analysisGrid);
         }
@@ -185,6 +310,62 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
         return field;
     }
 
+    private TextField createStreamsField() {
+        TextField field = new TextField();
+        field.setPromptText(STREAMS_PROMPT);
+        field.setPrefColumnCount(30);
+        field.textProperty().addListener((obs, oldValue, newValue) -> {
+            if (newValue != null && !newValue.matches(STREAMS_REGEX)) {
+                field.setText(oldValue);
+            }
+        });
+        return field;
+    }
+
+    private TextField createArchiveDirectoryField() {
+        TextField field = new TextField();
+        field.setPromptText(ARCHIVE_DIRECTORY_PROMPT);
+        field.setPrefColumnCount(30);
+        return field;
+    }
+
+    private TextField createEventStoreFileField() {
+        TextField field = new TextField();
+        field.setPromptText(EVENT_STORE_FILE_PROMPT);
+        field.setPrefColumnCount(30);
+        return field;
+    }
+
+    private TextField createReplayPathField() {
+        TextField field = new TextField();
+        field.setPromptText(REPLAY_PATH_PROMPT);
+        field.setPrefColumnCount(30);
+        return field;
+    }
+
+    private TextField createReplayTimeField() {
+        TextField field = new TextField();
+        field.setPromptText(REPLAY_TIME_PROMPT);
+        field.setPrefColumnCount(30);
+        return field;
+    }
+
+    private Spinner<Double> createReplaySpeedSpinner() {
+        SpinnerValueFactory<Double> valueFactory =
+            new SpinnerValueFactory.DoubleSpinnerValueFactory(0.0, 1000.0, 1.0, 1.0);
+        Spinner<Double> spinner = new Spinner<>(valueFactory);
+        spinner.setEditable(true);
+        return spinner;
+    }
+
+    private Spinner<Integer> createMetricsPortSpinner() {
+        SpinnerValueFactory<Integer> valueFactory =
+            new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 65535, 0);
+        Spinner<Integer> spinner = new Spinner<>(valueFactory);
+        spinner.setEditable(true);
+        return spinner;
+    }
+
     private Spinner<Integer> createStaWindowSpinner() {
         SpinnerValueFactory<Integer> valueFactory =
             new SpinnerValueFactory.IntegerSpinnerValueFactory(10, 1000, 100);
@@ -203,15 +384,69 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
 
     private Spinner<Double> createThresholdSpinner() {
         SpinnerValueFactory<Double> valueFactory =
-            new SpinnerValueFactory.DoubleSpinnerValueFactory(0.01, 10.0, 0.1, 0.01);
+            new SpinnerValueFactory.DoubleSpinnerValueFactory(1.01, 20.0, 3.0, 0.1);
+        Spinner<Double> spinner = new Spinner<>(valueFactory);
+        spinner.setEditable(true);
+        return spinner;
+    }
+
+    private Spinner<Double> createTriggerOffThresholdSpinner() {
+        SpinnerValueFactory<Double> valueFactory =
+            new SpinnerValueFactory.DoubleSpinnerValueFactory(0.01, 20.0, 1.5, 0.1);
+        Spinner<Double> spinner = new Spinner<>(valueFactory);
+        spinner.setEditable(true);
+        return spinner;
+    }
+
+    private Spinner<Double> createSecondsSpinner(double initialValue) {
+        SpinnerValueFactory<Double> valueFactory =
+            new SpinnerValueFactory.DoubleSpinnerValueFactory(0.0, 600.0, initialValue, 0.5);
+        Spinner<Double> spinner = new Spinner<>(valueFactory);
+        spinner.setEditable(true);
+        return spinner;
+    }
+
+    private Spinner<Double> createCoincidenceThresholdSpinner() {
+        SpinnerValueFactory<Double> valueFactory =
+            new SpinnerValueFactory.DoubleSpinnerValueFactory(0.0, 1000.0, 3.0, 0.5);
+        Spinner<Double> spinner = new Spinner<>(valueFactory);
+        spinner.setEditable(true);
+        return spinner;
+    }
+
+    private TextField createStationWeightsField() {
+        TextField field = new TextField();
+        field.setPromptText(STATION_WEIGHTS_PROMPT);
+        field.setPrefColumnCount(30);
+        return field;
+    }
+
+    private Spinner<Double> createFrequencySpinner(double initialValue) {
+        SpinnerValueFactory<Double> valueFactory =
+            new SpinnerValueFactory.DoubleSpinnerValueFactory(0.01, 500.0, initialValue, 0.5);
         Spinner<Double> spinner = new Spinner<>(valueFactory);
         spinner.setEditable(true);
         return spinner;
     }
 
+    private Spinner<Integer> createFilterOrderSpinner() {
+        SpinnerValueFactory<Integer> valueFactory =
+            new SpinnerValueFactory.IntegerSpinnerValueFactory(2, 8, 4, 2);
+        Spinner<Integer> spinner = new Spinner<>(valueFactory);
+        spinner.setEditable(true);
+        return spinner;
+    }
+
+    private TextField createDetectorBankField() {
+        TextField field = new TextField();
+        field.setPromptText(DETECTOR_BANK_PROMPT);
+        field.setPrefColumnCount(30);
+        return field;
+    }
+
     private Spinner<Integer> createMaxDataPointsSpinner() {
         SpinnerValueFactory<Integer> valueFactory =
-            new SpinnerValueFactory.IntegerSpinnerValueFactory(100, 10000, 1000);
+            new SpinnerValueFactory.IntegerSpinnerValueFactory(100, 1_000_000, 60_000, 1000);
         Spinner<Integer> spinner = new Spinner<>(valueFactory);
         spinner.setEditable(true);
         return spinner;
@@ -231,26 +466,64 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
         networkField.setText(currentConfig.network());
         stationField.setText(currentConfig.station());
         channelField.setText(currentConfig.channel());
+        streamsField.setText(currentConfig.streams());
+        archiveDirectoryField.setText(currentConfig.archiveDirectory());
+        eventStoreFileField.setText(currentConfig.eventStoreFile());
+        replayPathField.setText(currentConfig.replayPath());
+        replayFromField.setText(currentConfig.replayFrom());
+        replayToField.setText(currentConfig.replayTo());
+        replaySpeedSpinner.getValueFactory().setValue(currentConfig.replaySpeed());
+        metricsPortSpinner.getValueFactory().setValue(currentConfig.metricsPort());
         staWindowSpinner.getValueFactory().setValue(currentConfig.staWindow());
         ltaWindowSpinner.getValueFactory().setValue(currentConfig.ltaWindow());
         thresholdSpinner.getValueFactory().setValue(currentConfig.threshold());
+        triggerOffThresholdSpinner.getValueFactory().setValue(currentConfig.triggerOffThreshold());
+        minTriggerDurationSpinner.getValueFactory().setValue(currentConfig.minTriggerDuration());
+        triggerHoldSpinner.getValueFactory().setValue(currentConfig.triggerHold());
+        coincidenceWindowSpinner.getValueFactory().setValue(currentConfig.coincidenceWindow());
+        coincidenceThresholdSpinner.getValueFactory().setValue(currentConfig.coincidenceThreshold());
+        stationWeightsField.setText(currentConfig.stationWeights());
+        filterTypeBox.setValue(currentConfig.filterType());
+        filterLowSpinner.getValueFactory().setValue(currentConfig.filterLowHz());
+        filterHighSpinner.getValueFactory().setValue(currentConfig.filterHighHz());
+        filterOrderSpinner.getValueFactory().setValue(currentConfig.filterOrder());
+        detectorBankField.setText(currentConfig.detectorBank());
         maxDataPointsSpinner.getValueFactory().setValue(currentConfig.maxDataPoints());
         normalizationFactorSpinner.getValueFactory().setValue(currentConfig.normalizationFactor());
     }
 
     private AppConfig createConfigFromFields() {
-        return new AppConfig(
-            hostField.getText(),
-            portSpinner.getValue(),
-            networkField.getText(),
-            stationField.getText(),
-            channelField.getText(),
-            staWindowSpinner.getValue(),
-            ltaWindowSpinner.getValue(),
-            thresholdSpinner.getValue(),
-            maxDataPointsSpinner.getValue(),
-            normalizationFactorSpinner.getValue()
-        );
+        return currentConfig.toBuilder()
+            .host(hostField.getText())
+            .port(portSpinner.getValue())
+            .network(networkField.getText())
+            .station(stationField.getText())
+            .channel(channelField.getText())
+            .streams(streamsField.getText().trim())
+            .archiveDirectory(archiveDirectoryField.getText().trim())
+            .eventStoreFile(eventStoreFileField.getText().trim())
+            .replayPath(replayPathField.getText().trim())
+            .replayFrom(replayFromField.getText().trim())
+            .replayTo(replayToField.getText().trim())
+            .replaySpeed(replaySpeedSpinner.getValue())
+            .metricsPort(metricsPortSpinner.getValue())
+            .staWindow(staWindowSpinner.getValue())
+            .ltaWindow(ltaWindowSpinner.getValue())
+            .threshold(thresholdSpinner.getValue())
+            .triggerOffThreshold(triggerOffThresholdSpinner.getValue())
+            .minTriggerDuration(minTriggerDurationSpinner.getValue())
+            .triggerHold(triggerHoldSpinner.getValue())
+            .coincidenceWindow(coincidenceWindowSpinner.getValue())
+            .coincidenceThreshold(coincidenceThresholdSpinner.getValue())
+            .stationWeights(stationWeightsField.getText().trim())
+            .filterType(filterTypeBox.getValue())
+            .filterLowHz(filterLowSpinner.getValue())
+            .filterHighHz(filterHighSpinner.getValue())
+            .filterOrder(filterOrderSpinner.getValue())
+            .detectorBank(detectorBankField.getText().trim())
+            .maxDataPoints(maxDataPointsSpinner.getValue())
+            .normalizationFactor(normalizationFactorSpinner.getValue())
+            .build();
     }
 
     private void validateForm() {
@@ -297,6 +570,14 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
                 channelField.setStyle("");
             }
 
+            try {
+                StreamSelection.parseAll(streamsField.getText());
+                streamsField.setStyle("");
+            } catch (IllegalArgumentException e) {
+                streamsField.setStyle(BORDER_RED);
+                isValid = false;
+            }
+
             int staWindow = staWindowSpinner.getValue();
             int ltaWindow = ltaWindowSpinner.getValue();
             if (ltaWindow <= staWindow) {
@@ -308,6 +589,60 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
                 ltaWindowSpinner.setStyle("");
             }
 
+            if (triggerOffThresholdSpinner.getValue() >= thresholdSpinner.getValue()) {
+                triggerOffThresholdSpinner.setStyle(BORDER_RED);
+                isValid = false;
+            } else {
+                triggerOffThresholdSpinner.setStyle("");
+            }
+
+            if (filterTypeBox.getValue() == FilterType.BANDPASS
+                && filterHighSpinner.getValue() <= filterLowSpinner.getValue()) {
+                filterLowSpinner.setStyle(BORDER_RED);
+                filterHighSpinner.setStyle(BORDER_RED);
+                isValid = false;
+            } else {
+                filterLowSpinner.setStyle("");
+                filterHighSpinner.setStyle("");
+            }
+
+            try {
+                currentConfig.toBuilder().stationWeights(stationWeightsField.getText()).build().stationWeightMap();
+                stationWeightsField.setStyle("");
+            } catch (IllegalArgumentException e) {
+                stationWeightsField.setStyle(BORDER_RED);
+                isValid = false;
+            }
+
+            try {
+                currentConfig.toBuilder()
+                    .threshold(thresholdSpinner.getValue())
+                    .triggerOffThreshold(triggerOffThresholdSpinner.getValue())
+                    .detectorBank(detectorBankField.getText())
+                    .build()
+                    .detectorSets();
+                detectorBankField.setStyle("");
+            } catch (IllegalArgumentException e) {
+                detectorBankField.setStyle(BORDER_RED);
+                isValid = false;
+            }
+
+            try {
+                AppConfig replayWindow = currentConfig.toBuilder()
+                    .replayFrom(replayFromField.getText())
+                    .replayTo(replayToField.getText())
+                    .build();
+                if (replayWindow.replayEnd().isBefore(replayWindow.replayStart())) {
+                    throw new IllegalArgumentException("Replay window ends before it starts");
+                }
+                replayFromField.setStyle("");
+                replayToField.setStyle("");
+            } catch (IllegalArgumentException e) {
+                replayFromField.setStyle(BORDER_RED);
+                replayToField.setStyle(BORDER_RED);
+                isValid = false;
+            }
+
             Button okButton = (Button) getDialogPane().lookupButton(getDialogPane().getButtonTypes().stream()
                 .filter(bt -> bt.getButtonData() == ButtonBar.ButtonData.OK_DONE)
                 .findFirst().orElse(null));
@@ -344,6 +679,30 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
         grid.add(new Label(CHANNEL_LABEL), 0, row);
         grid.add(channelField, 1, row++);
 
+        grid.add(new Label(STREAMS_LABEL), 0, row);
+        grid.add(streamsField, 1, row++);
+
+        grid.add(new Label(ARCHIVE_DIRECTORY_LABEL), 0, row);
+        grid.add(archiveDirectoryField, 1, row++);
+
+        grid.add(new Label(EVENT_STORE_FILE_LABEL), 0, row);
+        grid.add(eventStoreFileField, 1, row++);
+
+        grid.add(new Label(REPLAY_PATH_LABEL), 0, row);
+        grid.add(replayPathField, 1, row++);
+
+        grid.add(new Label(REPLAY_FROM_LABEL), 0, row);
+        grid.add(replayFromField, 1, row++);
+
+        grid.add(new Label(REPLAY_TO_LABEL), 0, row);
+        grid.add(replayToField, 1, row++);
+
+        grid.add(new Label(REPLAY_SPEED_LABEL), 0, row);
+        grid.add(replaySpeedSpinner, 1, row++);
+
+        grid.add(new Label(METRICS_PORT_LABEL), 0, row);
+        grid.add(metricsPortSpinner, 1, row++);
+
         Separator separator = new Separator();
         separator.setPadding(new Insets(10, 0, 10, 0));
         grid.add(separator, 0, row++, 2, 1);
@@ -361,6 +720,39 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
         grid.add(new Label(THRESHOLD_LABEL), 0, row);
         grid.add(thresholdSpinner, 1, row++);
 
+        grid.add(new Label(TRIGGER_OFF_THRESHOLD_LABEL), 0, row);
+        grid.add(triggerOffThresholdSpinner, 1, row++);
+
+        grid.add(new Label(MIN_TRIGGER_DURATION_LABEL), 0, row);
+        grid.add(minTriggerDurationSpinner, 1, row++);
+
+        grid.add(new Label(TRIGGER_HOLD_LABEL), 0, row);
+        grid.add(triggerHoldSpinner, 1, row++);
+
+        grid.add(new Label(COINCIDENCE_WINDOW_LABEL), 0, row);
+        grid.add(coincidenceWindowSpinner, 1, row++);
+
+        grid.add(new Label(COINCIDENCE_THRESHOLD_LABEL), 0, row);
+        grid.add(coincidenceThresholdSpinner, 1, row++);
+
+        grid.add(new Label(STATION_WEIGHTS_LABEL), 0, row);
+        grid.add(stationWeightsField, 1, row++);
+
+        grid.add(new Label(FILTER_TYPE_LABEL), 0, row);
+        grid.add(filterTypeBox, 1, row++);
+
+        grid.add(new Label(FILTER_LOW_LABEL), 0, row);
+        grid.add(filterLowSpinner, 1, row++);
+
+        grid.add(new Label(FILTER_HIGH_LABEL), 0, row);
+        grid.add(filterHighSpinner, 1, row++);
+
+        grid.add(new Label(FILTER_ORDER_LABEL), 0, row);
+        grid.add(filterOrderSpinner, 1, row++);
+
+        grid.add(new Label(DETECTOR_BANK_LABEL), 0, row);
+        grid.add(detectorBankField, 1, row++);
+
         grid.add(new Label(MAX_DATA_POINTS_LABEL), 0, row);
         grid.add(maxDataPointsSpinner, 1, row++);
 
@@ -377,11 +769,20 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
         networkField.textProperty().addListener((obs, old, newValue) -> validateForm());
         stationField.textProperty().addListener((obs, old, newValue) -> validateForm());
         channelField.textProperty().addListener((obs, old, newValue) -> validateForm());
+        streamsField.textProperty().addListener((obs, old, newValue) -> validateForm());
+        stationWeightsField.textProperty().addListener((obs, old, newValue) -> validateForm());
+        detectorBankField.textProperty().addListener((obs, old, newValue) -> validateForm());
+        replayFromField.textProperty().addListener((obs, old, newValue) -> validateForm());
+        replayToField.textProperty().addListener((obs, old, newValue) -> validateForm());
 
         portSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
         staWindowSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
         ltaWindowSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
         thresholdSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
+        triggerOffThresholdSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
+        filterTypeBox.valueProperty().addListener((obs, old, newValue) -> validateForm());
+        filterLowSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
+        filterHighSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
         maxDataPointsSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
         normalizationFactorSpinner.valueProperty().addListener((obs, old, newValue) -> validateForm());
     }
@@ -392,9 +793,28 @@ public class ConfigurationDialog extends Dialog<AppConfig> {
         networkField.setTooltip(new Tooltip(NETWORK));
         stationField.setTooltip(new Tooltip(STATION));
         channelField.setTooltip(new Tooltip(CHANNEL));
+        streamsField.setTooltip(new Tooltip(STREAMS));
+        archiveDirectoryField.setTooltip(new Tooltip(ARCHIVE_DIRECTORY));
+        eventStoreFileField.setTooltip(new Tooltip(EVENT_STORE_FILE));
+        replayPathField.setTooltip(new Tooltip(REPLAY_PATH));
+        replayFromField.setTooltip(new Tooltip(REPLAY_WINDOW));
+        replayToField.setTooltip(new Tooltip(REPLAY_WINDOW));
+        replaySpeedSpinner.setTooltip(new Tooltip(REPLAY_SPEED));
+        metricsPortSpinner.setTooltip(new Tooltip(METRICS_PORT));
         staWindowSpinner.setTooltip(new Tooltip(STA_WINDOW));
         ltaWindowSpinner.setTooltip(new Tooltip(LTA_WINDOW));
         thresholdSpinner.setTooltip(new Tooltip(THRESHOLD));
+        triggerOffThresholdSpinner.setTooltip(new Tooltip(TRIGGER_OFF_THRESHOLD));
+        minTriggerDurationSpinner.setTooltip(new Tooltip(MIN_TRIGGER_DURATION));
+        triggerHoldSpinner.setTooltip(new Tooltip(TRIGGER_HOLD));
+        coincidenceWindowSpinner.setTooltip(new Tooltip(COINCIDENCE_WINDOW));
+        coincidenceThresholdSpinner.setTooltip(new Tooltip(COINCIDENCE_THRESHOLD));
+        stationWeightsField.setTooltip(new Tooltip(STATION_WEIGHTS));
+        filterTypeBox.setTooltip(new Tooltip(FILTER_TYPE));
+        filterLowSpinner.setTooltip(new Tooltip(FILTER_LOW));
+        filterHighSpinner.setTooltip(new Tooltip(FILTER_HIGH));
+        filterOrderSpinner.setTooltip(new Tooltip(FILTER_ORDER));
+        detectorBankField.setTooltip(new Tooltip(DETECTOR_BANK));
         maxDataPointsSpinner.setTooltip(new Tooltip(MAX_DATA_POINTS));
         normalizationFactorSpinner.setTooltip(new Tooltip(NORMALIZATION_FACTOR));
     }
@@ -0,0 +1,58 @@
+package com.hubbox.seismicmonitor.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.animation.AnimationTimer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs all UI update tasks once per rendered frame. Tasks pull whatever new data is available and
+ * must bound their own work, so a burst of incoming data never floods the FX event queue.
+ */
+@Slf4j
+public class FrameScheduler extends AnimationTimer {
+    private static final double AVERAGE_WEIGHT = 0.05;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Getter private long frameCount;
+    @Getter private long lastFrameNanos;
+    @Getter private long maxFrameNanos;
+    @Getter private long lastFrameIntervalNanos;
+    @Getter private double averageFrameNanos;
+    private long lastPulse;
+
+    public void addTask(Runnable task) {
+        tasks.add(task);
+    }
+
+    @Override
+    public void handle(long now) {
+        long start = System.nanoTime();
+        if (lastPulse != 0) {
+            lastFrameIntervalNanos = now - lastPulse;
+        }
+        lastPulse = now;
+
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("Error in UI frame task", e);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastFrameNanos = elapsed;
+        maxFrameNanos = Math.max(maxFrameNanos, elapsed);
+        averageFrameNanos = frameCount == 0 ? elapsed : averageFrameNanos + AVERAGE_WEIGHT * (elapsed - averageFrameNanos);
+        frameCount++;
+    }
+
+    public void resetStatistics() {
+        maxFrameNanos = 0;
+        frameCount = 0;
+        averageFrameNanos = 0;
+    }
+}
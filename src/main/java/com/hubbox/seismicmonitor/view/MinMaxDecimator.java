@@ -0,0 +1,103 @@
+package com.hubbox.seismicmonitor.view;
+
+/**
+ * Reduces a visible sample range to at most two points (min and max) per pixel bucket, which
+ * keeps peaks visible while bounding the number of points handed to the renderer.
+ */
+public class MinMaxDecimator {
+
+    @FunctionalInterface
+    public interface SampleSource {
+        float get(int index);
+    }
+
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int size;
+
+    /**
+     * @param available number of samples in {@code source}
+     * @param from      first visible sample index (inclusive, may be fractional)
+     * @param to        last visible sample index (inclusive, may be fractional)
+     * @param buckets   number of buckets, normally the plot width in pixels
+     * @return number of points produced
+     */
+    public int decimate(SampleSource source, int available, double from, double to, int buckets) {
+        size = 0;
+        int first = (int) Math.max(0, Math.floor(from));
+        int last = (int) Math.min(available - 1L, Math.ceil(to));
+        int visible = last - first + 1;
+        if (visible <= 0 || buckets <= 0) {
+            return 0;
+        }
+
+        ensureCapacity(Math.min(visible, 2 * buckets));
+
+        if (visible <= 2 * buckets) {
+            for (int i = first; i <= last; i++) {
+                add(i, source.get(i));
+            }
+            return size;
+        }
+
+        double bucketSize = (double) visible / buckets;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int bucketStart = first + (int) (bucket * bucketSize);
+            int bucketEnd = bucket == buckets - 1 ? last + 1 : first + (int) ((bucket + 1) * bucketSize);
+            if (bucketEnd <= bucketStart) {
+                continue;
+            }
+
+            int minIndex = bucketStart;
+            int maxIndex = bucketStart;
+            float min = source.get(bucketStart);
+            float max = min;
+            for (int i = bucketStart + 1; i < bucketEnd; i++) {
+                float value = source.get(i);
+                if (value < min) {
+                    min = value;
+                    minIndex = i;
+                } else if (value > max) {
+                    max = value;
+                    maxIndex = i;
+                }
+            }
+
+            if (minIndex == maxIndex) {
+                add(minIndex, min);
+            } else if (minIndex < maxIndex) {
+                add(minIndex, min);
+                add(maxIndex, max);
+            } else {
+                add(maxIndex, max);
+                add(minIndex, min);
+            }
+        }
+        return size;
+    }
+
+    private void add(double x, double y) {
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    private void ensureCapacity(int points) {
+        if (xs.length < points) {
+            xs = new double[points];
+            ys = new double[points];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double x(int index) {
+        return xs[index];
+    }
+
+    public double y(int index) {
+        return ys[index];
+    }
+}
@@ -8,11 +8,11 @@ import static com.hubbox.seismicmonitor.constants.MonitorViewText.Button.START_M
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Button.STOP_MONITORING;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Chart.AMPLITUDE_AXIS;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Chart.SEISMIC_CHART_TITLE;
-import static com.hubbox.seismicmonitor.constants.MonitorViewText.Chart.SEISMIC_SERIES_NAME;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Chart.STA_LTA_CHART_TITLE;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Chart.STA_LTA_RATIO_AXIS;
-import static com.hubbox.seismicmonitor.constants.MonitorViewText.Chart.STA_LTA_SERIES_NAME;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Chart.TIME_AXIS;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Stream.STREAM_LABEL;
+import static com.hubbox.seismicmonitor.constants.MonitorViewText.Stream.STREAM_PROMPT;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Error.CONFIG_ERROR_TITLE;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Status.CONNECTION_ACTIVE;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Status.CONNECTION_WAITING;
@@ -21,46 +21,39 @@ import static com.hubbox.seismicmonitor.constants.MonitorViewText.Status.READY;
 import static com.hubbox.seismicmonitor.constants.MonitorViewText.Status.SEISMIC_EVENT_DETECTED;
 
 import com.hubbox.seismicmonitor.config.AppConfig;
-import com.hubbox.seismicmonitor.model.SeismicData;
+import com.hubbox.seismicmonitor.metrics.PipelineMetrics;
+import com.hubbox.seismicmonitor.model.StreamId;
 import com.hubbox.seismicmonitor.viewmodel.MonitorViewModel;
+import com.hubbox.seismicmonitor.viewmodel.WaveformBuffer;
+import java.util.Objects;
 import java.util.Optional;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.application.Platform;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
-import javafx.geometry.Point2D;
-import javafx.scene.chart.LineChart;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.XYChart;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
-import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class MonitorView extends BorderPane {
     private final MonitorViewModel viewModel;
-    private LineChart<Number, Number> seismicChart;
-    private LineChart<Number, Number> staLtaChart;
-    private XYChart.Series<Number, Number> seismicSeries;
-    private XYChart.Series<Number, Number> staLtaSeries;
+    private WaveformCanvas seismicChart;
+    private WaveformCanvas staLtaChart;
+    private final FrameScheduler frameScheduler = new FrameScheduler();
+    private long renderedWaveformVersion = -1;
+    private String renderedStatusMessage;
+    private boolean renderedMonitoring;
     private Label statusLabel;
     private Label connectionStatusLabel;
     private ToggleButton monitoringButton;
+    private ComboBox<StreamId> streamSelector;
     private Button configButton;
     private VBox chartsBox;
     private HBox controlPanel;
@@ -69,6 +62,7 @@ public class MonitorView extends BorderPane {
         this.viewModel = viewModel;
         initializeView();
         setupBindings();
+        setupFrameScheduler();
     }
 
     private void initializeView() {
@@ -80,172 +74,26 @@ public class MonitorView extends BorderPane {
     }
 
     private void createCharts() {
-        NumberAxis xAxis1 = new NumberAxis(TIME_AXIS, 0, 1000, 100);
-        NumberAxis yAxis1 = new NumberAxis(AMPLITUDE_AXIS, -1, 1, 0.2);
-        seismicChart = new LineChart<>(xAxis1, yAxis1);
-        seismicChart.setTitle(SEISMIC_CHART_TITLE);
-        seismicChart.setAnimated(false);
-        seismicChart.setCreateSymbols(false);
+        WaveformBuffer waveform = viewModel.getWaveform();
 
-        setupZoomHandler(seismicChart, xAxis1, yAxis1);
+        seismicChart = new WaveformCanvas(SEISMIC_CHART_TITLE, TIME_AXIS, AMPLITUDE_AXIS, Color.web("#1f77b4"), -1, 1);
+        seismicChart.setSource(waveform::value, waveform::size, waveform::capacity);
 
-        seismicSeries = new XYChart.Series<>();
-        seismicSeries.setName(SEISMIC_SERIES_NAME);
-        seismicChart.getData().add(seismicSeries);
-
-        NumberAxis xAxis2 = new NumberAxis(TIME_AXIS, 0, 1000, 100);
-        NumberAxis yAxis2 = new NumberAxis(STA_LTA_RATIO_AXIS, 0, 5, 0.5);
-        staLtaChart = new LineChart<>(xAxis2, yAxis2);
-        staLtaChart.setTitle(STA_LTA_CHART_TITLE);
-        staLtaChart.setAnimated(false);
-        staLtaChart.setCreateSymbols(false);
-
-        setupZoomHandler(staLtaChart, xAxis2, yAxis2);
-
-        staLtaSeries = new XYChart.Series<>();
-        staLtaSeries.setName(STA_LTA_SERIES_NAME);
-        staLtaChart.getData().add(staLtaSeries);
+        staLtaChart = new WaveformCanvas(STA_LTA_CHART_TITLE, TIME_AXIS, STA_LTA_RATIO_AXIS, Color.web("#d62728"), 0, 5);
+        staLtaChart.setSource(waveform::ratio, waveform::size, waveform::capacity);
 
         Button resetZoomButton = new Button(RESET_ZOOM);
         resetZoomButton.setOnAction(e -> {
-            resetZoom(xAxis1, yAxis1);
-            resetZoom(xAxis2, yAxis2);
+            seismicChart.resetView();
+            staLtaChart.resetView();
         });
 
         chartsBox = new VBox(10);
+        VBox.setVgrow(seismicChart, Priority.ALWAYS);
+        VBox.setVgrow(staLtaChart, Priority.ALWAYS);
         chartsBox.getChildren().addAll(resetZoomButton, seismicChart, staLtaChart);
     }
 
-    private void setupZoomHandler(LineChart<Number, Number> chart, NumberAxis xAxis, NumberAxis yAxis) {
-        Rectangle selectRect = new Rectangle();
-        selectRect.setFill(Color.TRANSPARENT);
-        selectRect.setStroke(Color.BLUE);
-        selectRect.setStrokeWidth(1);
-        selectRect.getStrokeDashArray().addAll(5d, 5d);
-        selectRect.setVisible(false);
-
-        final ObjectProperty<Point2D> selectionStart = new SimpleObjectProperty<>();
-        final ObjectProperty<Point2D> mouseAnchor = new SimpleObjectProperty<>();
-
-        final double[] xAxisInitialLowerBound = {xAxis.getLowerBound()};
-        final double[] xAxisInitialUpperBound = {xAxis.getUpperBound()};
-        final double[] yAxisInitialLowerBound = {yAxis.getLowerBound()};
-        final double[] yAxisInitialUpperBound = {yAxis.getUpperBound()};
-
-        chart.setOnMousePressed(event -> {
-            if (event.isPrimaryButtonDown() && event.isShiftDown()) {
-                selectionStart.set(new Point2D(event.getX(), event.getY()));
-                selectRect.setX(event.getX());
-                selectRect.setY(event.getY());
-                selectRect.setWidth(0);
-                selectRect.setHeight(0);
-                selectRect.setVisible(true);
-                event.consume();
-            } else if (event.isMiddleButtonDown()) {
-                mouseAnchor.set(new Point2D(event.getX(), event.getY()));
-                event.consume();
-            }
-        });
-
-        chart.setOnMouseDragged(event -> {
-            if (event.isPrimaryButtonDown() && event.isShiftDown() && selectionStart.get() != null) {
-                double x = selectionStart.get().getX();
-                double y = selectionStart.get().getY();
-                double width = event.getX() - x;
-                double height = event.getY() - y;
-
-                selectRect.setX(width > 0 ? x : event.getX());
-                selectRect.setY(height > 0 ? y : event.getY());
-                selectRect.setWidth(Math.abs(width));
-                selectRect.setHeight(Math.abs(height));
-                event.consume();
-            } else if (event.isMiddleButtonDown() && mouseAnchor.get() != null) {
-                double deltaX = event.getX() - mouseAnchor.get().getX();
-                double deltaY = event.getY() - mouseAnchor.get().getY();
-
-                double xAxisScale = xAxis.getScale();
-                double yAxisScale = yAxis.getScale();
-
-                xAxis.setLowerBound(xAxis.getLowerBound() - deltaX / xAxisScale);
-                xAxis.setUpperBound(xAxis.getUpperBound() - deltaX / xAxisScale);
-
-                yAxis.setLowerBound(yAxis.getLowerBound() + deltaY / yAxisScale);
-                yAxis.setUpperBound(yAxis.getUpperBound() + deltaY / yAxisScale);
-
-                mouseAnchor.set(new Point2D(event.getX(), event.getY()));
-                event.consume();
-            }
-        });
-
-        chart.setOnMouseReleased(event -> {
-            if (event.isShiftDown() && selectionStart.get() != null) {
-                double x1 = selectRect.getX();
-                double y1 = selectRect.getY();
-                double x2 = x1 + selectRect.getWidth();
-                double y2 = y1 + selectRect.getHeight();
-
-                double xStart = xAxis.getValueForDisplay(x1).doubleValue();
-                double xEnd = xAxis.getValueForDisplay(x2).doubleValue();
-                double yStart = yAxis.getValueForDisplay(y2).doubleValue();
-                double yEnd = yAxis.getValueForDisplay(y1).doubleValue();
-
-                if (Math.abs(xEnd - xStart) > 1 && Math.abs(yEnd - yStart) > 0.1) {
-                    Timeline timeline = new Timeline(
-                        new KeyFrame(Duration.millis(200),
-                            new KeyValue(xAxis.lowerBoundProperty(), Math.min(xStart, xEnd)),
-                            new KeyValue(xAxis.upperBoundProperty(), Math.max(xStart, xEnd)),
-                            new KeyValue(yAxis.lowerBoundProperty(), Math.min(yStart, yEnd)),
-                            new KeyValue(yAxis.upperBoundProperty(), Math.max(yStart, yEnd))
-                        )
-                    );
-                    timeline.play();
-                }
-
-                selectRect.setVisible(false);
-                selectionStart.set(null);
-                event.consume();
-            }
-        });
-
-        chart.setOnScroll(event -> {
-            event.consume();
-            if (event.isControlDown()) {
-                double zoomFactor = 1.1;
-                double deltaY = event.getDeltaY();
-
-                if (deltaY < 0) {
-                    zoomFactor = 1 / zoomFactor;
-                }
-
-                double xAxisRange = xAxis.getUpperBound() - xAxis.getLowerBound();
-                double yAxisRange = yAxis.getUpperBound() - yAxis.getLowerBound();
-                double mouseXPosition = xAxis.getValueForDisplay(event.getX()).doubleValue();
-                double mouseYPosition = yAxis.getValueForDisplay(event.getY()).doubleValue();
-
-                double xNewRange = xAxisRange * zoomFactor;
-                double yNewRange = yAxisRange * zoomFactor;
-
-                xAxis.setLowerBound(mouseXPosition - (mouseXPosition - xAxis.getLowerBound()) * zoomFactor);
-                xAxis.setUpperBound(xAxis.getLowerBound() + xNewRange);
-
-                yAxis.setLowerBound(mouseYPosition - (mouseYPosition - yAxis.getLowerBound()) * zoomFactor);
-                yAxis.setUpperBound(yAxis.getLowerBound() + yNewRange);
-            }
-        });
-
-        chart.setOnMouseEntered(e -> {
-            xAxisInitialLowerBound[0] = xAxis.getLowerBound();
-            xAxisInitialUpperBound[0] = xAxis.getUpperBound();
-            yAxisInitialLowerBound[0] = yAxis.getLowerBound();
-            yAxisInitialUpperBound[0] = yAxis.getUpperBound();
-        });
-
-        Region chartPlotBackground = (Region) chart.lookup(".chart-plot-background");
-        if (chartPlotBackground != null && chartPlotBackground.getParent() instanceof Pane chartPane) {
-            chartPane.getChildren().add(selectRect);
-        }
-    }
-
     private void createControlPanel() {
         controlPanel = new HBox(10);
         controlPanel.setPadding(new Insets(10));
@@ -259,25 +107,24 @@ public class MonitorView extends BorderPane {
         Button clearButton = new Button(CLEAR_CHARTS);
         clearButton.setOnAction(e -> handleClearButton());
 
+        streamSelector = new ComboBox<>(viewModel.getStreams());
+        streamSelector.setPromptText(STREAM_PROMPT);
+        streamSelector.setOnAction(e -> {
+            StreamId selected = streamSelector.getValue();
+            if (selected != null) {
+                viewModel.getSelectedStream().set(selected);
+            }
+        });
+
         controlPanel.getChildren().addAll(
             monitoringButton,
             configButton,
-            clearButton
+            clearButton,
+            new Label(STREAM_LABEL),
+            streamSelector
         );
     }
 
-    private void resetZoom(NumberAxis xAxis, NumberAxis yAxis) {
-        Timeline timeline = new Timeline(
-            new KeyFrame(Duration.millis(200),
-                new KeyValue(xAxis.lowerBoundProperty(), 0),
-                new KeyValue(xAxis.upperBoundProperty(), 1000),
-                new KeyValue(yAxis.lowerBoundProperty(), yAxis.getTickUnit() * -5),
-                new KeyValue(yAxis.upperBoundProperty(), yAxis.getTickUnit() * 5)
-            )
-        );
-        timeline.play();
-    }
-
     private void createStatusBar() {
         HBox statusBar = new HBox(20);
         statusBar.setPadding(new Insets(5));
@@ -320,26 +167,55 @@ public class MonitorView extends BorderPane {
     }
 
     private void setupBindings() {
-        viewModel.getSeismicDataList().addListener((ListChangeListener.Change<? extends SeismicData> change) -> {
-            while (change.next()) {
-                if (change.wasAdded()) {
-                    for (SeismicData data : change.getAddedSubList()) {
-                        updateChart(seismicSeries, data.getValue());
-                        updateChart(staLtaSeries, data.getStaLtaRatio());
-                        Platform.runLater(() -> updateStatus(data.isEventDetected()));
-                    }
-                }
-            }
+        viewModel.getEventDetected().addListener((obs, oldVal, newVal) -> updateStatus(Boolean.TRUE.equals(newVal)));
+
+        viewModel.getSelectedStream().addListener((obs, oldVal, newVal) -> {
+            streamSelector.getSelectionModel().select(newVal);
+            requestChartRefresh();
         });
+    }
 
-        viewModel.getMonitoring().addListener((obs, oldVal, newVal) -> Platform.runLater(() -> {
-            monitoringButton.setSelected(newVal);
-            monitoringButton.setText(Boolean.TRUE.equals(newVal) ? STOP_MONITORING : START_MONITORING);
-            connectionStatusLabel.setText((Boolean.TRUE.equals(newVal) ? CONNECTION_ACTIVE : CONNECTION_WAITING));
-            connectionStatusLabel.setTextFill(Boolean.TRUE.equals(newVal) ? Color.GREEN : Color.BLACK);
-        }));
+    private void setupFrameScheduler() {
+        // Her karede tek geçiş: yeni veriyi çek, etiketleri güncelle, değişen grafikleri çiz
+        frameScheduler.addTask(viewModel::updateUIBatch);
+        frameScheduler.addTask(this::updateLabels);
+        frameScheduler.addTask(seismicChart::renderFrame);
+        frameScheduler.addTask(staLtaChart::renderFrame);
+        frameScheduler.start();
+
+        PipelineMetrics metrics = viewModel.getMetrics();
+        metrics.registerGauge("ui_frames", "Frames rendered", frameScheduler::getFrameCount);
+        metrics.registerGauge("ui_frame_time_seconds", "Work done in the last frame",
+            () -> frameScheduler.getLastFrameNanos() / 1e9);
+        metrics.registerGauge("ui_frame_time_average_seconds", "Moving average of the per-frame work",
+            () -> frameScheduler.getAverageFrameNanos() / 1e9);
+        metrics.registerGauge("ui_frame_time_max_seconds", "Longest per-frame work",
+            () -> frameScheduler.getMaxFrameNanos() / 1e9);
+        metrics.registerGauge("ui_frame_interval_seconds", "Time between the last two frames",
+            () -> frameScheduler.getLastFrameIntervalNanos() / 1e9);
+    }
+
+    private void updateLabels() {
+        long version = viewModel.getWaveformVersion().get();
+        if (version != renderedWaveformVersion) {
+            renderedWaveformVersion = version;
+            requestChartRefresh();
+        }
 
-        viewModel.getStatusMessage().addListener((obs, oldVal, newVal) -> Platform.runLater(() -> statusLabel.setText(newVal)));
+        String message = viewModel.getStatusMessage().get();
+        if (!Objects.equals(message, renderedStatusMessage)) {
+            renderedStatusMessage = message;
+            statusLabel.setText(message);
+        }
+
+        boolean monitoring = viewModel.getMonitoring().get();
+        if (monitoring != renderedMonitoring) {
+            renderedMonitoring = monitoring;
+            monitoringButton.setSelected(monitoring);
+            monitoringButton.setText(monitoring ? STOP_MONITORING : START_MONITORING);
+            connectionStatusLabel.setText(monitoring ? CONNECTION_ACTIVE : CONNECTION_WAITING);
+            connectionStatusLabel.setTextFill(monitoring ? Color.GREEN : Color.BLACK);
+        }
     }
 
     private void handleMonitoringToggle() {
@@ -361,10 +237,8 @@ public class MonitorView extends BorderPane {
             Optional<AppConfig> result = dialog.showAndWait();
 
             if (result.isPresent()) {
-                viewModel.updateConfig(result.get());
-                if (wasMonitoring) {
-                    viewModel.startMonitoring();
-                }
+                // Servis ve görünüm yeni ayarlarla yeniden kurulur
+                viewModel.updateConfig(result.get(), wasMonitoring);
             } else if (wasMonitoring) {
                 viewModel.startMonitoring();
             }
@@ -375,27 +249,19 @@ public class MonitorView extends BorderPane {
     }
 
     private void handleClearButton() {
-        seismicSeries.getData().clear();
-        staLtaSeries.getData().clear();
         viewModel.clearData();
     }
 
-    private void updateChart(XYChart.Series<Number, Number> series, double value) {
-        try {
-            if (series.getData().size() > viewModel.getConfig().maxDataPoints()) {
-                Platform.runLater(() -> {
-                    if (!series.getData().isEmpty()) {
-                        series.getData().remove(0);
-                    }
-                });
-            }
+    private void requestChartRefresh() {
+        seismicChart.requestRedraw();
+        staLtaChart.requestRedraw();
+    }
 
-            Platform.runLater(() -> series.getData().add(
-                new XYChart.Data<>(series.getData().size(), value)
-            ));
-        } catch (Exception e) {
-            log.error("Error updating seismic chart", e);
-        }
+    /**
+     * Stops the frame loop; called when the view is replaced.
+     */
+    public void dispose() {
+        frameScheduler.stop();
     }
 
     private void updateStatus(boolean eventDetected) {
@@ -0,0 +1,341 @@
+package com.hubbox.seismicmonitor.view;
+
+import java.util.function.IntSupplier;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+
+/**
+ * Draws a single trace straight from a primitive sample source onto a {@link Canvas}.
+ * Supports SHIFT + drag box zoom, middle button pan, CTRL + wheel zoom and animated reset.
+ */
+public class WaveformCanvas extends Region {
+    private static final double LEFT_MARGIN = 55;
+    private static final double RIGHT_MARGIN = 10;
+    private static final double TOP_MARGIN = 24;
+    private static final double BOTTOM_MARGIN = 22;
+    private static final int TICK_COUNT = 10;
+    private static final double ZOOM_FACTOR = 1.1;
+
+    private final Canvas canvas = new Canvas();
+    private final String title;
+    private final String xLabel;
+    private final String yLabel;
+    private final Color traceColor;
+    private final MinMaxDecimator decimator = new MinMaxDecimator();
+    private final double defaultYLower;
+    private final double defaultYUpper;
+
+    private final DoubleProperty xLower = new SimpleDoubleProperty();
+    private final DoubleProperty xUpper = new SimpleDoubleProperty();
+    private final DoubleProperty yLower = new SimpleDoubleProperty();
+    private final DoubleProperty yUpper = new SimpleDoubleProperty();
+
+    private MinMaxDecimator.SampleSource source = index -> 0f;
+    private IntSupplier sampleCount = () -> 0;
+    private IntSupplier defaultXUpper = () -> 1000;
+
+    private double selectionStartX = Double.NaN;
+    private double selectionStartY;
+    private double selectionEndX;
+    private double selectionEndY;
+    private double panAnchorX = Double.NaN;
+    private double panAnchorY;
+    private boolean dirty = true;
+
+    public WaveformCanvas(String title, String xLabel, String yLabel, Color traceColor,
+                          double defaultYLower, double defaultYUpper) {
+        this.title = title;
+        this.xLabel = xLabel;
+        this.yLabel = yLabel;
+        this.traceColor = traceColor;
+        this.defaultYLower = defaultYLower;
+        this.defaultYUpper = defaultYUpper;
+
+        getChildren().add(canvas);
+        setMinSize(200, 120);
+
+        xLower.set(0);
+        xUpper.set(defaultXUpper.getAsInt());
+        yLower.set(defaultYLower);
+        yUpper.set(defaultYUpper);
+
+        xLower.addListener((obs, oldVal, newVal) -> requestRedraw());
+        xUpper.addListener((obs, oldVal, newVal) -> requestRedraw());
+        yLower.addListener((obs, oldVal, newVal) -> requestRedraw());
+        yUpper.addListener((obs, oldVal, newVal) -> requestRedraw());
+
+        canvas.setOnMousePressed(this::handleMousePressed);
+        canvas.setOnMouseDragged(this::handleMouseDragged);
+        canvas.setOnMouseReleased(this::handleMouseReleased);
+        canvas.setOnScroll(this::handleScroll);
+    }
+
+    public void setSource(MinMaxDecimator.SampleSource source, IntSupplier sampleCount, IntSupplier defaultXUpper) {
+        this.source = source;
+        this.sampleCount = sampleCount;
+        this.defaultXUpper = defaultXUpper;
+        xUpper.set(defaultXUpper.getAsInt());
+        requestRedraw();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            requestRedraw();
+        }
+    }
+
+    public void requestRedraw() {
+        dirty = true;
+    }
+
+    /**
+     * Called once per frame by the {@link FrameScheduler}; redraws only if something changed.
+     */
+    public void renderFrame() {
+        if (dirty) {
+            redraw();
+        }
+    }
+
+    private void redraw() {
+        dirty = false;
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, width, height);
+
+        double plotWidth = plotWidth();
+        double plotHeight = plotHeight();
+        if (plotWidth <= 0 || plotHeight <= 0) {
+            return;
+        }
+
+        drawAxes(gc, plotWidth, plotHeight);
+        drawTrace(gc, plotWidth, plotHeight);
+        drawSelection(gc);
+    }
+
+    private void drawAxes(GraphicsContext gc, double plotWidth, double plotHeight) {
+        gc.setFont(Font.font(10));
+        gc.setStroke(Color.web("#e6e6e6"));
+        gc.setLineWidth(1);
+        gc.setFill(Color.web("#444444"));
+
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i <= TICK_COUNT / 2; i++) {
+            double value = yLower.get() + (yUpper.get() - yLower.get()) * i / (TICK_COUNT / 2.0);
+            double y = toPixelY(value);
+            gc.strokeLine(LEFT_MARGIN, y, LEFT_MARGIN + plotWidth, y);
+            gc.fillText(formatTick(value), LEFT_MARGIN - 4, y);
+        }
+
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.TOP);
+        for (int i = 0; i <= TICK_COUNT; i++) {
+            double value = xLower.get() + (xUpper.get() - xLower.get()) * i / TICK_COUNT;
+            double x = toPixelX(value);
+            gc.strokeLine(x, TOP_MARGIN, x, TOP_MARGIN + plotHeight);
+            gc.fillText(formatTick(value), x, TOP_MARGIN + plotHeight + 4);
+        }
+
+        gc.setStroke(Color.web("#999999"));
+        gc.strokeRect(LEFT_MARGIN, TOP_MARGIN, plotWidth, plotHeight);
+
+        gc.setTextBaseline(VPos.TOP);
+        gc.setFont(Font.font(12));
+        gc.setFill(Color.BLACK);
+        gc.fillText(title, LEFT_MARGIN + plotWidth / 2, 4);
+        gc.setFont(Font.font(10));
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText(yLabel, 4, 4);
+        gc.setTextAlign(TextAlignment.RIGHT);
+        gc.fillText(xLabel, LEFT_MARGIN + plotWidth, 4);
+    }
+
+    private void drawTrace(GraphicsContext gc, double plotWidth, double plotHeight) {
+        int points = decimator.decimate(source, sampleCount.getAsInt(),
+            xLower.get() - 1, xUpper.get() + 1, (int) Math.max(1, plotWidth));
+        if (points == 0) {
+            return;
+        }
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(LEFT_MARGIN, TOP_MARGIN, plotWidth, plotHeight);
+        gc.clip();
+
+        gc.setStroke(traceColor);
+        gc.setLineWidth(1);
+        gc.beginPath();
+        gc.moveTo(toPixelX(decimator.x(0)), toPixelY(decimator.y(0)));
+        for (int i = 1; i < points; i++) {
+            gc.lineTo(toPixelX(decimator.x(i)), toPixelY(decimator.y(i)));
+        }
+        gc.stroke();
+        gc.restore();
+    }
+
+    private void drawSelection(GraphicsContext gc) {
+        if (Double.isNaN(selectionStartX)) {
+            return;
+        }
+        gc.setStroke(Color.BLUE);
+        gc.setLineWidth(1);
+        gc.setLineDashes(5, 5);
+        gc.strokeRect(Math.min(selectionStartX, selectionEndX), Math.min(selectionStartY, selectionEndY),
+            Math.abs(selectionEndX - selectionStartX), Math.abs(selectionEndY - selectionStartY));
+        gc.setLineDashes(null);
+    }
+
+    private void handleMousePressed(MouseEvent event) {
+        if (event.getButton() == MouseButton.PRIMARY && event.isShiftDown()) {
+            selectionStartX = event.getX();
+            selectionStartY = event.getY();
+            selectionEndX = selectionStartX;
+            selectionEndY = selectionStartY;
+            event.consume();
+        } else if (event.getButton() == MouseButton.MIDDLE) {
+            panAnchorX = event.getX();
+            panAnchorY = event.getY();
+            event.consume();
+        }
+    }
+
+    private void handleMouseDragged(MouseEvent event) {
+        if (event.isPrimaryButtonDown() && event.isShiftDown() && !Double.isNaN(selectionStartX)) {
+            selectionEndX = event.getX();
+            selectionEndY = event.getY();
+            requestRedraw();
+            event.consume();
+        } else if (event.isMiddleButtonDown() && !Double.isNaN(panAnchorX)) {
+            double deltaX = (event.getX() - panAnchorX) / xScale();
+            double deltaY = (event.getY() - panAnchorY) / yScale();
+
+            xLower.set(xLower.get() - deltaX);
+            xUpper.set(xUpper.get() - deltaX);
+            yLower.set(yLower.get() + deltaY);
+            yUpper.set(yUpper.get() + deltaY);
+
+            panAnchorX = event.getX();
+            panAnchorY = event.getY();
+            event.consume();
+        }
+    }
+
+    private void handleMouseReleased(MouseEvent event) {
+        if (event.isShiftDown() && !Double.isNaN(selectionStartX)) {
+            double xStart = toValueX(selectionStartX);
+            double xEnd = toValueX(selectionEndX);
+            double yStart = toValueY(selectionStartY);
+            double yEnd = toValueY(selectionEndY);
+
+            if (Math.abs(xEnd - xStart) > 1 && Math.abs(yEnd - yStart) > (yUpper.get() - yLower.get()) / 100) {
+                animateTo(Math.min(xStart, xEnd), Math.max(xStart, xEnd), Math.min(yStart, yEnd), Math.max(yStart, yEnd));
+            }
+            event.consume();
+        }
+        if (!Double.isNaN(selectionStartX)) {
+            selectionStartX = Double.NaN;
+            requestRedraw();
+        }
+        panAnchorX = Double.NaN;
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        event.consume();
+        if (!event.isControlDown()) {
+            return;
+        }
+        double zoomFactor = event.getDeltaY() < 0 ? 1 / ZOOM_FACTOR : ZOOM_FACTOR;
+
+        double mouseX = toValueX(event.getX());
+        double mouseY = toValueY(event.getY());
+        double xNewRange = (xUpper.get() - xLower.get()) * zoomFactor;
+        double yNewRange = (yUpper.get() - yLower.get()) * zoomFactor;
+
+        xLower.set(mouseX - (mouseX - xLower.get()) * zoomFactor);
+        xUpper.set(xLower.get() + xNewRange);
+        yLower.set(mouseY - (mouseY - yLower.get()) * zoomFactor);
+        yUpper.set(yLower.get() + yNewRange);
+    }
+
+    public void resetView() {
+        animateTo(0, defaultXUpper.getAsInt(), defaultYLower, defaultYUpper);
+    }
+
+    private void animateTo(double newXLower, double newXUpper, double newYLower, double newYUpper) {
+        Timeline timeline = new Timeline(
+            new KeyFrame(Duration.millis(200),
+                new KeyValue(xLower, newXLower),
+                new KeyValue(xUpper, newXUpper),
+                new KeyValue(yLower, newYLower),
+                new KeyValue(yUpper, newYUpper)
+            )
+        );
+        timeline.play();
+    }
+
+    private double plotWidth() {
+        return canvas.getWidth() - LEFT_MARGIN - RIGHT_MARGIN;
+    }
+
+    private double plotHeight() {
+        return canvas.getHeight() - TOP_MARGIN - BOTTOM_MARGIN;
+    }
+
+    private double xScale() {
+        return plotWidth() / (xUpper.get() - xLower.get());
+    }
+
+    private double yScale() {
+        return plotHeight() / (yUpper.get() - yLower.get());
+    }
+
+    private double toPixelX(double value) {
+        return LEFT_MARGIN + (value - xLower.get()) * xScale();
+    }
+
+    private double toPixelY(double value) {
+        return TOP_MARGIN + plotHeight() - (value - yLower.get()) * yScale();
+    }
+
+    private double toValueX(double pixel) {
+        return xLower.get() + (pixel - LEFT_MARGIN) / xScale();
+    }
+
+    private double toValueY(double pixel) {
+        return yLower.get() + (TOP_MARGIN + plotHeight() - pixel) / yScale();
+    }
+
+    private static String formatTick(double value) {
+        double magnitude = Math.abs(value);
+        if (magnitude >= 1000 || magnitude == 0) {
+            return String.format("%.0f", value);
+        }
+        if (magnitude >= 1) {
+            return String.format("%.2f", value);
+        }
+        return String.format("%.3g", value);
+    }
+}
@@ -1,70 +1,100 @@
 package com.hubbox.seismicmonitor.viewmodel;
 
 import com.hubbox.seismicmonitor.config.AppConfig;
-import com.hubbox.seismicmonitor.model.SeismicData;
+import com.hubbox.seismicmonitor.diagnostics.UiBatchEvent;
+import com.hubbox.seismicmonitor.metrics.LatencyHistogram;
+import com.hubbox.seismicmonitor.metrics.PipelineMetrics;
+import com.hubbox.seismicmonitor.model.NetworkEvent;
+import com.hubbox.seismicmonitor.model.SampleBlock;
 import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
 import com.hubbox.seismicmonitor.service.SeedLinkService;
+import com.hubbox.seismicmonitor.service.SpscRingBuffer;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class MonitorViewModel {
-    private static final int BATCH_SIZE = 20; // UI güncelleme batch boyutu
-    private static final long UI_UPDATE_INTERVAL = 50; // milisaniye
+    private static final int BATCH_SIZE = 256; // kare başına işlenecek en fazla blok
+    private static final int MAX_EVENTS = 100;
+    // The tails are trimmed once they reach twice MAX_EVENTS, so appending stays amortized O(1)
+    private static final int TRIM_AT = 2 * MAX_EVENTS;
 
     private final SeedLinkService seedLinkService;
     @Getter private final AppConfig config;
 
-    @Getter private final ObservableList<SeismicData> seismicDataList;
+    @Getter private final WaveformBuffer waveform;
+    @Getter private final LongProperty waveformVersion;
     @Getter private final ObservableList<SeismicEvent> eventList;
+    @Getter private final ObservableList<NetworkEvent> networkEventList;
     @Getter private final StringProperty statusMessage;
     @Getter private final BooleanProperty monitoring;
     @Getter private final DoubleProperty currentStaLtaRatio;
     @Getter private final BooleanProperty eventDetected;
-
-    private final Queue<SeismicData> dataBuffer;
-    private final List<SeismicData> batchBuffer;
-    private long lastUIUpdate;
+    @Getter private final ObservableList<StreamId> streams;
+    @Getter private final ObjectProperty<StreamId> selectedStream;
+
+    private final SpscRingBuffer<SampleBlock> dataBuffer;
+    private final SpscRingBuffer<SeismicEvent> eventBuffer;
+    private final SpscRingBuffer<NetworkEvent> networkEventBuffer;
+    @Getter private final PipelineMetrics metrics;
+    private final LatencyHistogram screenLatency;
+    private final List<SampleBlock> batchBuffer;
+    private final Set<StreamId> knownStreams;
+    // Receives a new configuration and whether monitoring should resume once it is applied
+    @Setter private BiConsumer<AppConfig, Boolean> configChangeHandler;
 
     public MonitorViewModel(SeedLinkService seedLinkService, AppConfig config) {
         this.seedLinkService = seedLinkService;
         this.config = config;
 
-        this.seismicDataList = FXCollections.synchronizedObservableList(FXCollections.observableArrayList());
+        this.waveform = new WaveformBuffer(config.maxDataPoints());
+        this.waveformVersion = new SimpleLongProperty(0);
         this.eventList = FXCollections.synchronizedObservableList(FXCollections.observableArrayList());
+        this.networkEventList = FXCollections.observableArrayList();
         this.statusMessage = new SimpleStringProperty("Hazır");
         this.monitoring = new SimpleBooleanProperty(false);
         this.currentStaLtaRatio = new SimpleDoubleProperty(0.0);
         this.eventDetected = new SimpleBooleanProperty(false);
-
-        this.dataBuffer = new ConcurrentLinkedQueue<>();
+        this.streams = FXCollections.observableArrayList();
+        this.selectedStream = new SimpleObjectProperty<>();
+
+        this.dataBuffer = seedLinkService.getOutput();
+        this.eventBuffer = seedLinkService.getEvents();
+        this.networkEventBuffer = seedLinkService.getNetworkEvents();
+        this.metrics = seedLinkService.getMetrics();
+        this.screenLatency = metrics.getScreenLatency();
         this.batchBuffer = new ArrayList<>(BATCH_SIZE);
+        this.knownStreams = new HashSet<>();
+
+        // Geçmiş olaylar kalıcı depodan yüklenir
+        seedLinkService.getEventStore().ifPresent(store -> eventList.setAll(store.tail(MAX_EVENTS)));
 
         initialize();
     }
 
     private void initialize() {
-        seedLinkService.latestDataProperty().addListener((obs, old, newData) -> {
-            if (newData != null) {
-                handleNewData(newData);
-            }
-        });
-
         // Event sıfırlama için ayrı thread
         eventDetected.addListener((obs, oldValue, newValue) -> {
             if (Boolean.TRUE.equals(newValue)) {
@@ -73,79 +103,103 @@ public class MonitorViewModel {
                 );
             }
         });
+
+        selectedStream.addListener((obs, oldStream, newStream) -> {
+            if (oldStream != null) {
+                clearChartData();
+            }
+        });
     }
 
-    private void handleNewData(SeismicData data) {
-        dataBuffer.add(data);
+    private void handleNewData(SampleBlock block) {
+        StreamId streamId = block.getStreamId();
+        if (knownStreams.add(streamId)) {
+            registerStream(streamId);
+        }
 
-        // Buffer boyut kontrolü
-        while (dataBuffer.size() > config.maxDataPoints()) {
-            dataBuffer.poll();
+        // Tetikleme açıkken işaretlenen örnekler
+        if (block.hasDetection()) {
+            eventDetected.set(true);
         }
 
-        // Batch update kontrolü
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastUIUpdate >= UI_UPDATE_INTERVAL) {
-            updateUIBatch();
-            lastUIUpdate = currentTime;
+        if (streamId.equals(selectedStream.get())) {
+            batchBuffer.add(block);
         }
+    }
 
-        // Event kontrolü
-        if (data.isEventDetected()) {
-            Platform.runLater(() -> handleEventDetection(data));
+    private void registerStream(StreamId streamId) {
+        streams.add(streamId);
+        if (selectedStream.get() == null) {
+            selectedStream.set(streamId);
         }
     }
 
-    private void updateUIBatch() {
+    /**
+     * Drains at most {@code BATCH_SIZE} blocks from the ingest ring. Called once per frame on the FX thread.
+     */
+    public void updateUIBatch() {
+        UiBatchEvent batchEvent = new UiBatchEvent();
+        batchEvent.begin();
         batchBuffer.clear();
 
         // Batch için veri topla
-        for (int i = 0; i < BATCH_SIZE && !dataBuffer.isEmpty(); i++) {
-            SeismicData data = dataBuffer.poll();
-            if (data != null) {
-                batchBuffer.add(data);
+        dataBuffer.drain(this::handleNewData, BATCH_SIZE);
+        eventBuffer.drain(this::handleEvent, MAX_EVENTS);
+        networkEventBuffer.drain(this::handleNetworkEvent, MAX_EVENTS);
+
+        if (!batchBuffer.isEmpty()) {
+            // Son veriyi al
+            SampleBlock lastBlock = batchBuffer.get(batchBuffer.size() - 1);
+
+            // UI güncellemelerini yap
+            long now = System.currentTimeMillis() * 1_000_000L;
+            for (SampleBlock block : batchBuffer) {
+                waveform.append(block);
+                screenLatency.record(now - block.endTimeNanos());
             }
+            waveformVersion.set(waveformVersion.get() + 1);
+
+            currentStaLtaRatio.set(lastBlock.lastRatio());
+            updateStatus(lastBlock);
         }
 
-        if (!batchBuffer.isEmpty()) {
-            Platform.runLater(() -> {
-                // Son veriyi al
-                SeismicData lastData = batchBuffer.get(batchBuffer.size() - 1);
-
-                // UI güncellemelerini yap
-                seismicDataList.addAll(batchBuffer);
-                while (seismicDataList.size() > config.maxDataPoints()) {
-                    seismicDataList.remove(0);
-                }
-
-                currentStaLtaRatio.set(lastData.getStaLtaRatio());
-                updateStatus(lastData);
-            });
+        batchEvent.end();
+        if (batchEvent.shouldCommit()) {
+            int samples = 0;
+            for (SampleBlock block : batchBuffer) {
+                samples += block.getLength();
+            }
+            batchEvent.blocks = batchBuffer.size();
+            batchEvent.samples = samples;
+            batchEvent.queued = dataBuffer.size();
+            batchEvent.commit();
         }
     }
 
-    private void handleEventDetection(SeismicData data) {
-        SeismicEvent event = new SeismicEvent(
-            data.getTimestamp(),
-            data.getValue(),
-            data.getStaLtaRatio(),
-            data.getNetwork(),
-            data.getStation(),
-            data.getChannel()
-        );
-
-        eventList.add(0, event);
-        if (eventList.size() > 100) {
-            eventList.remove(100, eventList.size());
-        }
+    private void handleEvent(SeismicEvent event) {
+        appendToTail(eventList, event);
+        log.info("Seismic event detected: {}", event);
+    }
 
+    private void handleNetworkEvent(NetworkEvent event) {
+        appendToTail(networkEventList, event);
         eventDetected.set(true);
-        log.info("Seismic event detected: {}", event);
     }
 
-    private void updateStatus(SeismicData data) {
+    /**
+     * Appends to a newest-last list holding at least the last {@code MAX_EVENTS} items.
+     */
+    private static <T> void appendToTail(ObservableList<T> tail, T item) {
+        tail.add(item);
+        if (tail.size() >= TRIM_AT) {
+            tail.remove(0, tail.size() - MAX_EVENTS);
+        }
+    }
+
+    private void updateStatus(SampleBlock block) {
+        StreamId streamId = block.getStreamId();
         String status = String.format("Son Veri - Ağ: %s, İstasyon: %s, Kanal: %s, STA/LTA: %.2f",
-            data.getNetwork(), data.getStation(), data.getChannel(), data.getStaLtaRatio());
+            streamId.network(), streamId.station(), streamId.channel(), block.lastRatio());
         statusMessage.set(status);
     }
 
@@ -177,47 +231,44 @@ public class MonitorViewModel {
         }
     }
 
-    public void clearData() {
+    private void clearChartData() {
         dataBuffer.clear();
-        seismicDataList.clear();
+        waveform.clear();
+        waveformVersion.set(waveformVersion.get() + 1);
+    }
+
+    public void clearData() {
+        clearChartData();
         eventList.clear();
+        networkEventList.clear();
         currentStaLtaRatio.set(0.0);
         statusMessage.set("Veriler temizlendi");
         log.info("Data cleared");
     }
 
-    public void updateConfig(AppConfig newConfig) {
-        boolean wasMonitoring = monitoring.get();
-        if (wasMonitoring) {
-            stopMonitoring();
-        }
-
-        // Update config
-        config.toBuilder().host(newConfig.host());
-        config.toBuilder().port(newConfig.port());
-        config.toBuilder().network(newConfig.network());
-        config.toBuilder().station(newConfig.station());
-        config.toBuilder().channel(newConfig.channel());
-        config.toBuilder().staWindow(newConfig.staWindow());
-        config.toBuilder().ltaWindow(newConfig.ltaWindow());
-        config.toBuilder().threshold(newConfig.threshold());
-        config.toBuilder().maxDataPoints(newConfig.maxDataPoints());
-        config.toBuilder().normalizationFactor(newConfig.normalizationFactor());
-
-        clearData();
-
-        if (wasMonitoring) {
-            startMonitoring();
+    /**
+     * Applies a new configuration. The service, its data source and this view model are all built
+     * from the configuration, so the {@code configChangeHandler} replaces them instead of changing
+     * them in place.
+     */
+    public void updateConfig(AppConfig newConfig, boolean resumeMonitoring) {
+        stopMonitoring();
+        if (configChangeHandler == null) {
+            log.warn("No configuration change handler, keeping the current configuration");
+            if (resumeMonitoring) {
+                startMonitoring();
+            }
+            return;
         }
-
+        configChangeHandler.accept(newConfig, resumeMonitoring);
         log.info("Configuration updated");
     }
 
     public double getLastValue() {
-        if (seismicDataList.isEmpty()) {
+        if (waveform.size() == 0) {
             return 0.0;
         }
-        return seismicDataList.get(seismicDataList.size() - 1).getValue();
+        return waveform.value(waveform.size() - 1);
     }
 
     public boolean isEventInProgress() {
@@ -0,0 +1,72 @@
+package com.hubbox.seismicmonitor.viewmodel;
+
+import com.hubbox.seismicmonitor.model.SampleBlock;
+
+/**
+ * Circular history of the displayed stream's samples and STA/LTA ratios. Index 0 is the oldest
+ * retained sample. Only accessed from the FX thread.
+ */
+public class WaveformBuffer {
+    private final float[] values;
+    private final float[] ratios;
+    private int start;
+    private int count;
+
+    public WaveformBuffer(int capacity) {
+        this.values = new float[capacity];
+        this.ratios = new float[capacity];
+    }
+
+    public void append(SampleBlock block) {
+        float[] blockValues = block.getValues();
+        float[] blockRatios = block.getRatios();
+        int length = block.getLength();
+        int offset = 0;
+        if (length > values.length) {
+            offset = length - values.length;
+            length = values.length;
+        }
+
+        int capacity = values.length;
+        int write = (start + count) % capacity;
+        int firstPart = Math.min(length, capacity - write);
+        System.arraycopy(blockValues, offset, values, write, firstPart);
+        System.arraycopy(blockRatios, offset, ratios, write, firstPart);
+        System.arraycopy(blockValues, offset + firstPart, values, 0, length - firstPart);
+        System.arraycopy(blockRatios, offset + firstPart, ratios, 0, length - firstPart);
+
+        int overflow = count + length - capacity;
+        if (overflow > 0) {
+            start = (start + overflow) % capacity;
+            count = capacity;
+        } else {
+            count += length;
+        }
+    }
+
+    public float value(int index) {
+        return values[physical(index)];
+    }
+
+    public float ratio(int index) {
+        return ratios[physical(index)];
+    }
+
+    private int physical(int index) {
+        int position = start + index;
+        return position < values.length ? position : position - values.length;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public void clear() {
+        start = 0;
+        count = 0;
+    }
+}
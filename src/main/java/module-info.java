@@ -3,14 +3,21 @@ module com.hubbox.seismicmonitor {
     requires javafx.fxml;
     requires static lombok;
     requires org.slf4j;
+    requires java.management;
+    requires jdk.httpserver;
+    requires jdk.jfr;
+    requires static jdk.incubator.vector;
     requires edu.sc.seis.seisFile;
 
 
     opens com.hubbox.seismicmonitor to javafx.fxml;
     exports com.hubbox.seismicmonitor;
     exports com.hubbox.seismicmonitor.config;
+    exports com.hubbox.seismicmonitor.diagnostics;
+    exports com.hubbox.seismicmonitor.metrics;
     exports com.hubbox.seismicmonitor.model;
     exports com.hubbox.seismicmonitor.service;
+    exports com.hubbox.seismicmonitor.simulation;
     exports com.hubbox.seismicmonitor.view;
     exports com.hubbox.seismicmonitor.viewmodel;
 }
@@ -0,0 +1,44 @@
+package com.hubbox.seismicmonitor.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class DetectorParametersTest {
+
+    @Test
+    void derivesTheTriggerOffThresholdFromThePrimaryRatio() {
+        List<DetectorParameters> sets = DetectorParameters.parseAll(" 50/2000/3; 200/8000/2.5/1 ;", 0.5);
+
+        assertEquals(List.of(
+            new DetectorParameters(50, 2000, 3.0, 1.5),
+            new DetectorParameters(200, 8000, 2.5, 1.0)), sets);
+        assertEquals("50/2000/3.0", sets.get(0).label());
+    }
+
+    @Test
+    void rejectsSetsWhoseTriggerNeverEnds() {
+        assertThrows(IllegalArgumentException.class, () -> DetectorParameters.parse("100/5000/0.8", 0.5));
+        assertThrows(IllegalArgumentException.class, () -> DetectorParameters.parse("100/5000/1", 0.5));
+        assertThrows(IllegalArgumentException.class, () -> DetectorParameters.parse("100/5000/3/4", 0.5));
+        assertThrows(IllegalArgumentException.class, () -> DetectorParameters.parse("100/5000/3/3", 0.5));
+    }
+
+    @Test
+    void rejectsMalformedSets() {
+        assertThrows(IllegalArgumentException.class, () -> DetectorParameters.parse("100/5000", 0.5));
+        assertThrows(IllegalArgumentException.class, () -> DetectorParameters.parse("5000/100/3", 0.5));
+        assertThrows(IllegalArgumentException.class, () -> DetectorParameters.parse("a/5000/3", 0.5));
+    }
+
+    @Test
+    void rejectsSuchSetsWhenLoadingAConfiguration() {
+        Properties properties = new Properties();
+        properties.setProperty("detectorBank", "50/2000/3; 100/5000/3/4");
+
+        assertThrows(IllegalArgumentException.class, () -> AppConfigLoader.fromProperties(properties));
+    }
+}
@@ -0,0 +1,106 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class BiquadFilterTest {
+    private static final double RATE = 100.0;
+
+    @Test
+    void highpassStepResponseDecaysToZero() {
+        BiquadFilter filter = BiquadFilter.highpass(1.0, RATE, 4);
+        float[] out = run(filter, constant(1000, 1000f));
+
+        // The step passes at first and the DC level is then removed
+        assertTrue(out[0] > 500f);
+        assertEquals(0.0, out[out.length - 1], 1e-2);
+    }
+
+    @Test
+    void lowpassPassesDcWithUnitGain() {
+        BiquadFilter filter = BiquadFilter.lowpass(5.0, RATE, 4);
+        float[] out = run(filter, constant(1000, 1000f));
+
+        assertEquals(1000.0, out[out.length - 1], 1e-2);
+    }
+
+    @Test
+    void bandpassKeepsThePassbandAndRejectsBothSides() {
+        assertEquals(1.0, gain(3.0), 0.02);
+        assertTrue(gain(0.1) < 1e-3);
+        assertTrue(gain(40.0) < 1e-2);
+    }
+
+    @Test
+    void carriesItsStateAcrossCalls() {
+        float[] input = sine(2.0, 1000);
+        float[] whole = run(BiquadFilter.bandpass(1.0, 10.0, RATE, 4), input);
+
+        BiquadFilter filter = BiquadFilter.bandpass(1.0, 10.0, RATE, 4);
+        float[] chunked = input.clone();
+        for (int from = 0; from < chunked.length; from += 137) {
+            int len = Math.min(137, chunked.length - from);
+            float[] chunk = Arrays.copyOfRange(chunked, from, from + len);
+            // In place, as the stream processor calls it
+            filter.process(chunk, chunk, len);
+            System.arraycopy(chunk, 0, chunked, from, len);
+        }
+
+        for (int i = 0; i < whole.length; i++) {
+            assertEquals(whole[i], chunked[i]);
+        }
+    }
+
+    @Test
+    void resetForgetsThePreviousInput() {
+        BiquadFilter filter = BiquadFilter.highpass(1.0, RATE, 2);
+        float[] first = run(filter, constant(10, 1000f));
+        filter.reset();
+
+        assertEquals(first[0], run(filter, constant(1, 1000f))[0]);
+    }
+
+    @Test
+    void rejectsInvalidDesigns() {
+        assertThrows(IllegalArgumentException.class, () -> BiquadFilter.highpass(1.0, RATE, 3));
+        assertThrows(IllegalArgumentException.class, () -> BiquadFilter.highpass(1.0, RATE, 0));
+        assertThrows(IllegalArgumentException.class, () -> BiquadFilter.lowpass(50.0, RATE, 4));
+        assertThrows(IllegalArgumentException.class, () -> BiquadFilter.bandpass(10.0, 1.0, RATE, 4));
+    }
+
+    /**
+     * Peak output over the last two seconds of a ten second sine of unit amplitude.
+     */
+    private static double gain(double frequencyHz) {
+        float[] out = run(BiquadFilter.bandpass(1.0, 10.0, RATE, 4), sine(frequencyHz, 1000));
+        double peak = 0;
+        for (int i = 800; i < out.length; i++) {
+            peak = Math.max(peak, Math.abs(out[i]));
+        }
+        return peak;
+    }
+
+    private static float[] run(BiquadFilter filter, float[] input) {
+        float[] out = new float[input.length];
+        filter.process(input, out, input.length);
+        return out;
+    }
+
+    private static float[] constant(int length, float value) {
+        float[] values = new float[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    private static float[] sine(double frequencyHz, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (float) Math.sin(2 * Math.PI * frequencyHz * i / RATE);
+        }
+        return values;
+    }
+}
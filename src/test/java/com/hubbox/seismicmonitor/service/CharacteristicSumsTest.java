@@ -0,0 +1,86 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class CharacteristicSumsTest {
+    private static final int STA = 10;
+    private static final int LTA = 200;
+
+    @Test
+    void windowSumsStayAccurateAcrossCompactions() {
+        CharacteristicSums sums = new CharacteristicSums(CharacteristicFunctions.scalar(), LTA);
+        Random random = new Random(3);
+        float[] last = new float[0];
+        // About 5e8 in total, far beyond the window sums the rebasing keeps
+        for (int b = 0; b < 500; b++) {
+            last = new float[b % 5 == 0 ? 5000 : 333];
+            for (int i = 0; i < last.length; i++) {
+                last[i] = (float) (random.nextGaussian() * 1000);
+            }
+            sums.append(last, 0, last.length);
+        }
+
+        assertEquals(direct(last, STA), sums.windowSum(STA), 1e-6 * direct(last, STA));
+        assertEquals(direct(last, LTA), sums.windowSum(LTA), 1e-6 * direct(last, LTA));
+    }
+
+    @Test
+    void reportsTheSamplesBeforeAWindowIsFilled() {
+        CharacteristicSums sums = new CharacteristicSums(CharacteristicFunctions.scalar(), LTA);
+
+        sums.append(new float[150], 0, 150);
+        assertEquals(150, sums.incomplete(150, LTA));
+        sums.append(new float[100], 0, 100);
+        assertEquals(49, sums.incomplete(100, LTA));
+        assertEquals(0, sums.incomplete(100, STA));
+        sums.append(new float[100], 0, 100);
+        assertEquals(0, sums.incomplete(100, LTA));
+    }
+
+    @Test
+    void vectorKernelMatchesTheScalarKernel() {
+        Optional<CharacteristicFunction> vector = CharacteristicFunctions.vector();
+        assumeTrue(vector.isPresent());
+        CharacteristicFunction scalar = CharacteristicFunctions.scalar();
+
+        Random random = new Random(5);
+        float[] samples = new float[4099];
+        for (int i = 0; i < samples.length; i++) {
+            // A silent stretch exercises the zero-LTA guard
+            samples[i] = i < 600 ? 0f : (float) (random.nextGaussian() * (i % 1000 > 900 ? 50 : 1));
+        }
+        double[] prefix = new double[samples.length + 1];
+        scalar.accumulate(samples, 0, samples.length, prefix, 1);
+        double[] vectorPrefix = new double[samples.length + 1];
+        vector.get().accumulate(samples, 0, samples.length, vectorPrefix, 1);
+
+        // An odd range, so the scalar tail of the vector kernel runs too
+        int from = LTA + 1;
+        int to = prefix.length;
+        float[] expected = new float[to - from];
+        float[] actual = new float[to - from];
+        int expectedDetections = scalar.ratios(prefix, from, to, STA, LTA, 3.0, expected, 0);
+        int detections = vector.get().ratios(vectorPrefix, from, to, STA, LTA, 3.0, actual, 0);
+
+        for (int i = 0; i < prefix.length; i++) {
+            assertEquals(prefix[i], vectorPrefix[i]);
+        }
+        assertEquals(expectedDetections, detections);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i]);
+        }
+    }
+
+    private static double direct(float[] samples, int window) {
+        double sum = 0;
+        for (int i = samples.length - window; i < samples.length; i++) {
+            sum += Math.abs(samples[i]);
+        }
+        return sum;
+    }
+}
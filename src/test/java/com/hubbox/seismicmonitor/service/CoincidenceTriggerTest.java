@@ -0,0 +1,175 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hubbox.seismicmonitor.model.NetworkEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CoincidenceTriggerTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long IDLE = 30 * SECOND;
+
+    private final List<NetworkEvent> events = new ArrayList<>();
+    private long now;
+
+    @Test
+    void countsAStationOncePerWindowAcrossItsChannels() {
+        CoincidenceTrigger trigger = trigger(3.0, List.of());
+
+        trigger.onTrigger(stream("A", "BHZ"), 100 * SECOND);
+        trigger.onTrigger(stream("A", "BHN"), 101 * SECOND);
+        trigger.onTrigger(stream("B", "BHZ"), 103 * SECOND);
+        data(trigger, 110 * SECOND, "A", "B");
+        assertTrue(events.isEmpty());
+
+        trigger.onTrigger(stream("C", "BHZ"), 111 * SECOND);
+        data(trigger, 112 * SECOND, "A", "B", "C");
+
+        assertEquals(1, events.size());
+        NetworkEvent event = events.get(0);
+        assertEquals(List.of("XX_A", "XX_B", "XX_C"), event.stations());
+        assertEquals(Instant.ofEpochSecond(101), event.firstOnset());
+        assertEquals(Instant.ofEpochSecond(111), event.lastOnset());
+        assertEquals(3.0, event.weight());
+    }
+
+    @Test
+    void appliesStationWeights() {
+        CoincidenceTrigger trigger = new CoincidenceTrigger(10, 3.0, Map.of("XX_B", 2.0), List.of(),
+            events::add, IDLE, () -> now);
+
+        trigger.onTrigger(stream("A", "BHZ"), 100 * SECOND);
+        trigger.onTrigger(stream("B", "BHZ"), 104 * SECOND);
+        data(trigger, 105 * SECOND, "A", "B");
+
+        assertEquals(1, events.size());
+        assertEquals(3.0, events.get(0).weight());
+    }
+
+    @Test
+    void releasesAnOutOfOrderOnsetOnceEveryStreamHasCaughtUp() {
+        CoincidenceTrigger trigger = trigger(2.0, List.of("XX_A", "XX_B"));
+
+        // Backfill: station A delivers ten minutes, including onsets at 100 s and 500 s, before B starts
+        for (long t = 0; t < 600; t += 10) {
+            if (t == 100 || t == 500) {
+                trigger.onTrigger(stream("A", "BHZ"), t * SECOND);
+            }
+            data(trigger, (t + 10) * SECOND, "A");
+        }
+        assertTrue(events.isEmpty());
+
+        for (long t = 0; t < 600; t += 10) {
+            if (t == 100) {
+                trigger.onTrigger(stream("B", "BHZ"), 103 * SECOND);
+            }
+            data(trigger, (t + 10) * SECOND, "B");
+        }
+
+        assertEquals(1, events.size());
+        assertEquals(List.of("XX_A", "XX_B"), events.get(0).stations());
+        assertEquals(Instant.ofEpochSecond(100), events.get(0).firstOnset());
+    }
+
+    @Test
+    void holdsOnsetsUntilTheSlowestStreamHasPassedThem() {
+        CoincidenceTrigger trigger = trigger(2.0, List.of());
+        data(trigger, 100 * SECOND, "A", "B");
+
+        trigger.onTrigger(stream("A", "BHZ"), 105 * SECOND);
+        trigger.onTrigger(stream("B", "BHZ"), 107 * SECOND);
+        data(trigger, 120 * SECOND, "A");
+        data(trigger, 106 * SECOND, "B");
+        assertTrue(events.isEmpty());
+
+        data(trigger, 107 * SECOND, "B");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void stopsWaitingForAnIdleStream() {
+        CoincidenceTrigger trigger = trigger(2.0, List.of());
+        data(trigger, 100 * SECOND, "A", "B", "C");
+
+        trigger.onTrigger(stream("A", "BHZ"), 110 * SECOND);
+        trigger.onTrigger(stream("B", "BHZ"), 112 * SECOND);
+        // C stops sending; A and B keep going
+        for (int i = 1; i <= 5; i++) {
+            now += 5 * SECOND;
+            data(trigger, (100 + 10 * i) * SECOND, "A", "B");
+        }
+        assertTrue(events.isEmpty());
+
+        now += 10 * SECOND;
+        data(trigger, 160 * SECOND, "A", "B");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void waitsForConfiguredStationsOnlyUntilTheyCountAsIdle() {
+        CoincidenceTrigger trigger = trigger(1.0, List.of("XX_A", "XX_MISSING"));
+
+        trigger.onTrigger(stream("A", "BHZ"), 5 * SECOND);
+        data(trigger, 10 * SECOND, "A");
+        now += IDLE;
+        data(trigger, 20 * SECOND, "A");
+        assertTrue(events.isEmpty());
+
+        now += SECOND;
+        data(trigger, 30 * SECOND, "A");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void ignoresOnsetsOlderThanTheWindowWhenReleased() {
+        CoincidenceTrigger trigger = trigger(2.0, List.of());
+        data(trigger, 200 * SECOND, "A");
+        trigger.onTrigger(stream("A", "BHZ"), 210 * SECOND);
+        data(trigger, 220 * SECOND, "A");
+
+        // B joins late with data the watermark has already passed
+        trigger.onTrigger(stream("B", "BHZ"), 150 * SECOND);
+        data(trigger, 160 * SECOND, "B");
+        assertTrue(events.isEmpty());
+
+        trigger.onTrigger(stream("B", "BHZ"), 215 * SECOND);
+        data(trigger, 225 * SECOND, "A", "B");
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void declaresAgainOnlyAfterTheWindowEmpties() {
+        CoincidenceTrigger trigger = trigger(2.0, List.of());
+
+        trigger.onTrigger(stream("A", "BHZ"), 100 * SECOND);
+        trigger.onTrigger(stream("B", "BHZ"), 101 * SECOND);
+        trigger.onTrigger(stream("C", "BHZ"), 102 * SECOND);
+        data(trigger, 103 * SECOND, "A", "B", "C");
+        assertEquals(1, events.size());
+
+        trigger.onTrigger(stream("A", "BHZ"), 200 * SECOND);
+        trigger.onTrigger(stream("B", "BHZ"), 201 * SECOND);
+        data(trigger, 203 * SECOND, "A", "B", "C");
+        assertEquals(2, events.size());
+    }
+
+    private CoincidenceTrigger trigger(double threshold, List<String> expectedStations) {
+        return new CoincidenceTrigger(10, threshold, Map.of(), expectedStations, events::add, IDLE, () -> now);
+    }
+
+    private static void data(CoincidenceTrigger trigger, long endNanos, String... stations) {
+        for (String station : stations) {
+            trigger.onData(stream(station, "BHZ"), endNanos);
+        }
+    }
+
+    private static StreamId stream(String station, String channel) {
+        return new StreamId("XX", station, "00", channel);
+    }
+}
@@ -0,0 +1,120 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.config.DetectorParameters;
+import com.hubbox.seismicmonitor.metrics.DetectorMetrics;
+import com.hubbox.seismicmonitor.metrics.PipelineMetrics;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DetectorBankTest {
+    private static final StreamId STREAM = new StreamId("XX", "A", "00", "BHZ");
+    private static final double RATE = 40.0;
+    private static final long SAMPLE = 25_000_000L;
+    // Block lengths that do not divide the sums capacity, so compaction happens mid-stream
+    private static final int[] LENGTHS = {512, 37, 1000, 256, 3};
+
+    private final AppConfig config = new AppConfig().toBuilder()
+        .staWindow(20)
+        .ltaWindow(200)
+        .detectorBank("10/800/2.5; 40/300/3; 20/200/3")
+        .build();
+    private final List<DetectorParameters> sets = config.detectorSets();
+
+    @Test
+    void sharedSumsGiveTheSameDetectionsAsStandaloneSums() {
+        PipelineMetrics standaloneMetrics = new PipelineMetrics();
+        PipelineMetrics sharedMetrics = new PipelineMetrics();
+        DetectorBank standalone = new DetectorBank(STREAM, config, sets, standaloneMetrics);
+        DetectorBank shared = new DetectorBank(STREAM, config, sets, sharedMetrics);
+        StaLtaService primary = new StaLtaService(config, CharacteristicFunctions.get(), shared.longestWindow());
+
+        Signal signal = new Signal();
+        float[] ratios = new float[1000];
+        for (int b = 0; b < 300; b++) {
+            int len = LENGTHS[b % LENGTHS.length];
+            float[] samples = signal.next(len);
+            standalone.process(samples.clone(), len, signal.block(len));
+            primary.process(samples, 0, len, ratios);
+            shared.process(primary.sums(), len, signal.block(len));
+            signal.advance(len);
+        }
+
+        for (DetectorParameters set : sets) {
+            DetectorMetrics expected = standaloneMetrics.detector(set.label());
+            DetectorMetrics actual = sharedMetrics.detector(set.label());
+            assertTrue(expected.getEvents() > 0, set.label());
+            assertEquals(expected.getTriggers(), actual.getTriggers());
+            assertEquals(expected.getEvents(), actual.getEvents());
+        }
+    }
+
+    @Test
+    void aSetWithThePrimaryParametersTriggersLikeThePrimaryDetector() {
+        PipelineMetrics metrics = new PipelineMetrics();
+        DetectorBank bank = new DetectorBank(STREAM, config, sets, metrics);
+        StaLtaService primary = new StaLtaService(config, CharacteristicFunctions.get(), bank.longestWindow());
+        int[] primaryTriggers = new int[2];
+        TriggerStateMachine primaryTrigger = new TriggerStateMachine(STREAM, "primary", config,
+            new TriggerListener() {
+                @Override
+                public void triggerOn(StreamId streamId, long onsetNanos) {
+                    primaryTriggers[0]++;
+                }
+
+                @Override
+                public void eventCompleted(SeismicEvent event) {
+                    primaryTriggers[1]++;
+                }
+            });
+
+        Signal signal = new Signal();
+        for (int b = 0; b < 300; b++) {
+            int len = LENGTHS[b % LENGTHS.length];
+            SampleBlock block = signal.block(len);
+            System.arraycopy(signal.next(len), 0, block.getValues(), 0, len);
+            primary.process(block.getValues(), 0, len, block.getRatios());
+            primaryTrigger.process(block);
+            bank.process(primary.sums(), len, block);
+            signal.advance(len);
+        }
+
+        DetectorMetrics same = metrics.detector("20/200/3.0");
+        assertTrue(primaryTriggers[1] > 0);
+        assertEquals(primaryTriggers[0], same.getTriggers());
+        assertEquals(primaryTriggers[1], same.getEvents());
+    }
+
+    /**
+     * Gaussian noise with a burst every 37th block; the same seed gives the same stream.
+     */
+    private static final class Signal {
+        private final Random random = new Random(1);
+        private long samples;
+        private int blocks;
+
+        float[] next(int len) {
+            boolean burst = blocks++ % 37 == 5;
+            float[] values = new float[len];
+            for (int i = 0; i < len; i++) {
+                values[i] = (float) (random.nextGaussian() * (burst ? 40 : 1));
+            }
+            return values;
+        }
+
+        SampleBlock block(int len) {
+            return new SampleBlock(STREAM, samples * SAMPLE, RATE, len);
+        }
+
+        void advance(int len) {
+            samples += len;
+        }
+    }
+}
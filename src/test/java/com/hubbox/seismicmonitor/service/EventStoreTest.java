@@ -0,0 +1,87 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EventStoreTest {
+    private static final Instant BASE = Instant.parse("2024-03-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsEventsAcrossReopen() throws IOException {
+        Path file = directory.resolve("events/store.sme");
+        List<SeismicEvent> events = List.of(
+            event("ANMO", 0, 12.5),
+            event("ANKR", 30, 4.25),
+            // Completed after the previous one but with an earlier onset
+            event("ISP", 20, 7.0),
+            event("CCM", 90, 3.0)
+        );
+        try (EventStore store = EventStore.open(file)) {
+            for (int i = 0; i < events.size(); i++) {
+                assertEquals(i, store.append(events.get(i)));
+            }
+        }
+
+        try (EventStore store = EventStore.open(file)) {
+            assertEquals(events.size(), store.size());
+            for (int i = 0; i < events.size(); i++) {
+                assertEquals(events.get(i), store.get(i));
+            }
+            assertEquals(events.subList(2, 4), store.tail(2));
+
+            store.append(event("KONO", 120, 5.5));
+            assertEquals(events.size() + 1, store.size());
+        }
+
+        try (EventStore store = EventStore.open(file)) {
+            assertEquals(events.size() + 1, store.size());
+            assertEquals("KONO", store.get(events.size()).station());
+        }
+    }
+
+    @Test
+    void selectsEventsByOnsetInStoreOrder() throws IOException {
+        try (EventStore store = EventStore.open(directory.resolve("store.sme"))) {
+            store.append(event("A", 0, 3.0));
+            store.append(event("B", 60, 3.0));
+            store.append(event("C", 10, 3.0));
+            store.append(event("D", 120, 3.0));
+
+            assertEquals(List.of("B", "C"), stations(store, BASE.plusSeconds(5), BASE.plusSeconds(120)));
+            assertEquals(List.of("A", "B", "C", "D"), stations(store, Instant.MIN, Instant.MAX));
+            assertEquals(List.of(), stations(store, BASE.plusSeconds(121), Instant.MAX));
+        }
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAStore() throws IOException {
+        Path file = directory.resolve("other.bin");
+        Files.write(file, new byte[128]);
+
+        assertThrows(IOException.class, () -> EventStore.open(file));
+    }
+
+    private static List<String> stations(EventStore store, Instant from, Instant to) {
+        List<String> stations = new ArrayList<>();
+        store.forEach(from, to, event -> stations.add(event.station()));
+        return stations;
+    }
+
+    private static SeismicEvent event(String station, long onsetSeconds, double peakRatio) {
+        Instant onset = BASE.plusSeconds(onsetSeconds).plusNanos(250_000_000L);
+        return new SeismicEvent(onset, onset.plusSeconds(8), peakRatio, 0.002, "IU", station, "00", "BHZ");
+    }
+}
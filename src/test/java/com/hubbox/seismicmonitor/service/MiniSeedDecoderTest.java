@@ -0,0 +1,174 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class MiniSeedDecoderTest {
+    private static final int FRAME_WORDS = 16;
+
+    private final MiniSeedDecoder decoder = new MiniSeedDecoder();
+
+    @Test
+    void decodesSteim1AcrossFrames() {
+        // The first difference refers to the previous record and must not be applied
+        int[] differences = {42, 2, -3, 0, 291, -500, 69800, 1, -1, 127, -128, 32767, -32768, 100000};
+        int[] expected = integrate(10, differences);
+
+        Frames frames = new Frames(2);
+        frames.header(expected[0], expected[expected.length - 1]);
+        frames.word(0, 3, 1, bytes(42, 2, -3, 0));
+        frames.word(0, 4, 2, shorts(291, -500));
+        frames.word(0, 5, 3, 69800);
+        frames.word(1, 1, 1, bytes(1, -1, 127, -128));
+        frames.word(1, 2, 2, shorts(32767, -32768));
+        frames.word(1, 3, 3, 100000);
+
+        int count = decoder.decode(frames.bytes(), expected.length, MiniSeedDecoder.ENCODING_STEIM1, true);
+
+        assertEquals(expected.length, count);
+        assertArrayEquals(expected, Arrays.copyOf(decoder.getIntSamples(), count));
+        // Reverse integration: the last sample must equal the Xn constant of the record
+        assertEquals(frames.reverseConstant(), decoder.getIntSamples()[count - 1]);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], decoder.getSamples()[i]);
+        }
+    }
+
+    @Test
+    void decodesEverySteim2Width() {
+        int[] differences = {
+            1, -8, 7, 0, -1, 3, -2,
+            15, -16, 1, 2, 3, 4,
+            31, -32, 5, 6, 7,
+            511, -512, 100,
+            16383, -16384,
+            100_000_000,
+            127, -128, 1, -1
+        };
+        int[] expected = integrate(-5, differences);
+
+        Frames frames = new Frames(1);
+        frames.header(expected[0], expected[expected.length - 1]);
+        frames.word(0, 3, 3, pack(2, 4, 1, -8, 7, 0, -1, 3, -2));
+        frames.word(0, 4, 3, pack(1, 5, 15, -16, 1, 2, 3, 4));
+        frames.word(0, 5, 3, pack(0, 6, 31, -32, 5, 6, 7));
+        frames.word(0, 6, 2, pack(3, 10, 511, -512, 100));
+        frames.word(0, 7, 2, pack(2, 15, 16383, -16384));
+        frames.word(0, 8, 2, pack(1, 30, 100_000_000));
+        frames.word(0, 9, 1, bytes(127, -128, 1, -1));
+
+        int count = decoder.decode(frames.bytes(), expected.length, MiniSeedDecoder.ENCODING_STEIM2, true);
+
+        assertEquals(expected.length, count);
+        assertArrayEquals(expected, Arrays.copyOf(decoder.getIntSamples(), count));
+        assertEquals(frames.reverseConstant(), decoder.getIntSamples()[count - 1]);
+    }
+
+    @Test
+    void stopsAtTheDeclaredSampleCount() {
+        Frames frames = new Frames(1);
+        frames.header(100, 103);
+        frames.word(0, 3, 1, bytes(0, 1, 1, 1));
+        frames.word(0, 4, 1, bytes(1, 1, 1, 1));
+
+        int count = decoder.decode(frames.bytes(), 4, MiniSeedDecoder.ENCODING_STEIM1, true);
+
+        assertEquals(4, count);
+        assertArrayEquals(new int[] {100, 101, 102, 103}, Arrays.copyOf(decoder.getIntSamples(), count));
+    }
+
+    @Test
+    void decodesInt32InBothByteOrders() {
+        int[] values = {0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 123456};
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer buffer = ByteBuffer.allocate(values.length * 4).order(order);
+            for (int value : values) {
+                buffer.putInt(value);
+            }
+
+            int count = decoder.decode(buffer.array(), values.length, MiniSeedDecoder.ENCODING_INT32,
+                order == ByteOrder.BIG_ENDIAN);
+
+            assertEquals(values.length, count);
+            for (int i = 0; i < count; i++) {
+                assertEquals((float) values[i], decoder.getSamples()[i]);
+            }
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedEncodings() {
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(new byte[64], 1, 0, true));
+    }
+
+    private static int[] integrate(int first, int[] differences) {
+        int[] samples = new int[differences.length];
+        samples[0] = first;
+        for (int i = 1; i < differences.length; i++) {
+            samples[i] = samples[i - 1] + differences[i];
+        }
+        return samples;
+    }
+
+    private static int bytes(int a, int b, int c, int d) {
+        return (a & 0xFF) << 24 | (b & 0xFF) << 16 | (c & 0xFF) << 8 | (d & 0xFF);
+    }
+
+    private static int shorts(int a, int b) {
+        return (a & 0xFFFF) << 16 | (b & 0xFFFF);
+    }
+
+    /**
+     * Packs Steim2 differences of {@code bits} bits each below the 2-bit {@code dnib}, first
+     * difference in the highest field.
+     */
+    private static int pack(int dnib, int bits, int... values) {
+        int word = dnib << 30;
+        int mask = (1 << bits) - 1;
+        for (int i = 0; i < values.length; i++) {
+            word |= (values[i] & mask) << ((values.length - 1 - i) * bits);
+        }
+        return word;
+    }
+
+    /**
+     * Steim frames with their nibble words filled in as data words are set.
+     */
+    private static final class Frames {
+        private final int[][] words;
+
+        Frames(int count) {
+            words = new int[count][FRAME_WORDS];
+        }
+
+        void header(int forwardConstant, int reverseConstant) {
+            words[0][1] = forwardConstant;
+            words[0][2] = reverseConstant;
+        }
+
+        int reverseConstant() {
+            return words[0][2];
+        }
+
+        void word(int frame, int index, int nibble, int value) {
+            words[frame][index] = value;
+            words[frame][0] |= nibble << (30 - 2 * index);
+        }
+
+        byte[] bytes() {
+            ByteBuffer buffer = ByteBuffer.allocate(words.length * FRAME_WORDS * 4);
+            for (int[] frame : words) {
+                for (int word : frame) {
+                    buffer.putInt(word);
+                }
+            }
+            return buffer.array();
+        }
+    }
+}
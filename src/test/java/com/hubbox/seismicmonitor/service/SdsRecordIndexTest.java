@@ -0,0 +1,80 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SdsRecordIndexTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final int RECORD_LENGTH = 512;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsEntriesSortedByStartTime() throws IOException {
+        // Backfill appends an earlier record after later ones
+        SdsRecordIndex index = SdsRecordIndex.load(write(2, 0, 3, 1));
+
+        assertEquals(4, index.size());
+        for (int entry = 0; entry < index.size(); entry++) {
+            assertEquals(entry * 10 * SECOND, index.startTime(entry));
+            assertEquals(entry * 10 * SECOND + 9 * SECOND, index.endTime(entry));
+            assertEquals(entry * RECORD_LENGTH, index.offset(entry));
+            assertEquals(RECORD_LENGTH, index.length(entry));
+        }
+    }
+
+    @Test
+    void findsTheFirstRecordThatMayOverlapAWindow() throws IOException {
+        SdsRecordIndex index = SdsRecordIndex.load(write(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+
+        assertEquals(0, index.firstCandidate(Long.MIN_VALUE + 10 * SECOND));
+        assertEquals(0, index.firstCandidate(0));
+        assertEquals(0, index.firstCandidate(5 * SECOND));
+        // Records last 9 s, so the record starting at 10 s still reaches 15 s and 19 s
+        assertEquals(1, index.firstCandidate(15 * SECOND));
+        assertEquals(1, index.firstCandidate(19 * SECOND));
+        assertEquals(2, index.firstCandidate(19 * SECOND + 1));
+        assertEquals(2, index.firstCandidate(20 * SECOND));
+        assertEquals(9, index.firstCandidate(95 * SECOND));
+        assertEquals(10, index.firstCandidate(200 * SECOND));
+    }
+
+    @Test
+    void ignoresATrailingPartialEntry() throws IOException {
+        Path file = write(0, 1);
+        Files.write(file, new byte[SdsRecordIndex.ENTRY_BYTES / 2], StandardOpenOption.APPEND);
+
+        assertEquals(2, SdsRecordIndex.load(file).size());
+    }
+
+    @Test
+    void placesTheIndexNextToItsDayFile() {
+        Path dayFile = directory.resolve("IU.ANMO.00.BHZ.D.2024.001");
+
+        assertEquals(directory.resolve("IU.ANMO.00.BHZ.D.2024.001.idx"), SdsRecordIndex.indexPathFor(dayFile));
+    }
+
+    /**
+     * Writes an index with one 9 s record per slot, in the given order; slot {@code n} starts at
+     * {@code 10 n} s and is stored at byte offset {@code n * RECORD_LENGTH}.
+     */
+    private Path write(int... slots) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(slots.length * SdsRecordIndex.ENTRY_BYTES);
+        for (int slot : slots) {
+            long start = slot * 10 * SECOND;
+            SdsRecordIndex.writeEntry(buffer, start, start + 9 * SECOND, (long) slot * RECORD_LENGTH, RECORD_LENGTH);
+        }
+        Path file = directory.resolve("index-" + Arrays.toString(slots).hashCode() + ".idx");
+        Files.write(file, buffer.array());
+        return file;
+    }
+}
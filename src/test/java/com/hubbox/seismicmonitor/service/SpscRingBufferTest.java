@@ -0,0 +1,89 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SpscRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(8, new SpscRingBuffer<Integer>(5, SpscRingBuffer.OverflowPolicy.DROP_NEWEST).capacity());
+        assertEquals(4, new SpscRingBuffer<Integer>(4, SpscRingBuffer.OverflowPolicy.DROP_NEWEST).capacity());
+    }
+
+    @Test
+    void keepsOrderAcrossWrapAround() {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4, SpscRingBuffer.OverflowPolicy.DROP_NEWEST);
+        int next = 0;
+        int expected = 0;
+        // Positions run far past the capacity, so every slot is reused many times
+        for (int round = 0; round < 25; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(ring.offer(next++));
+            }
+            assertEquals(3, ring.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, ring.poll());
+            }
+            assertTrue(ring.isEmpty());
+        }
+        assertNull(ring.poll());
+        assertEquals(75, ring.getOfferedCount());
+        assertEquals(0, ring.getDroppedCount());
+        assertEquals(3, ring.getHighWaterMark());
+    }
+
+    @Test
+    void overwritesTheOldestWhenFull() {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4, SpscRingBuffer.OverflowPolicy.OVERWRITE_OLDEST);
+        for (int i = 0; i < 6; i++) {
+            assertTrue(ring.offer(i));
+        }
+
+        assertEquals(4, ring.size());
+        assertEquals(2, ring.getDroppedCount());
+        assertEquals(List.of(2, 3, 4, 5), drainAll(ring));
+    }
+
+    @Test
+    void rejectsTheNewestWhenFull() {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(4, SpscRingBuffer.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+        assertFalse(ring.offer(5));
+
+        assertEquals(2, ring.getDroppedCount());
+        assertEquals(6, ring.getOfferedCount());
+        assertEquals(List.of(0, 1, 2, 3), drainAll(ring));
+    }
+
+    @Test
+    void drainsAtMostTheLimit() {
+        SpscRingBuffer<Integer> ring = new SpscRingBuffer<>(8, SpscRingBuffer.OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 5; i++) {
+            ring.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        assertEquals(3, ring.drain(drained::add, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(2, ring.size());
+
+        ring.clear();
+        assertTrue(ring.isEmpty());
+    }
+
+    private static List<Integer> drainAll(SpscRingBuffer<Integer> ring) {
+        List<Integer> values = new ArrayList<>();
+        ring.drain(values::add, Integer.MAX_VALUE);
+        return values;
+    }
+}
@@ -0,0 +1,98 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class StaLtaServiceTest {
+    private final AppConfig config = new AppConfig().toBuilder()
+        .staWindow(10)
+        .ltaWindow(50)
+        .threshold(2.0)
+        .build();
+
+    @Test
+    void blockRatiosMatchThePerSampleApi() {
+        StaLtaService perSample = new StaLtaService(config);
+        StaLtaService blocks = new StaLtaService(config);
+        float[] samples = noise(20_000);
+
+        float[] expected = new float[samples.length];
+        int expectedDetections = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (perSample.process(samples[i])) {
+                expectedDetections++;
+            }
+            expected[i] = (float) perSample.getCurrentRatio();
+        }
+
+        float[] actual = new float[samples.length];
+        int detections = 0;
+        int[] lengths = {1, 7, 512, 49, 3000};
+        for (int off = 0, b = 0; off < samples.length; b++) {
+            int len = Math.min(lengths[b % lengths.length], samples.length - off);
+            detections += blocks.process(samples, off, len, actual);
+            off += len;
+        }
+
+        assertTrue(expectedDetections > 0);
+        assertEquals(expectedDetections, detections);
+        for (int i = 0; i < samples.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-4f * Math.max(1f, expected[i]));
+        }
+    }
+
+    @Test
+    void ratiosAreZeroUntilBothWindowsAreFilled() {
+        StaLtaService service = new StaLtaService(config);
+        float[] samples = new float[60];
+        Arrays.fill(samples, 3f);
+        float[] ratios = new float[60];
+
+        service.process(samples, 0, 30, ratios);
+        service.process(samples, 30, 30, ratios);
+
+        for (int i = 0; i < 49; i++) {
+            assertEquals(0f, ratios[i]);
+        }
+        // A constant signal has equal short and long term averages
+        for (int i = 49; i < 60; i++) {
+            assertEquals(1f, ratios[i], 1e-6f);
+        }
+        assertEquals(1.0, service.getCurrentRatio(), 1e-9);
+    }
+
+    @Test
+    void countsOnlyRatiosAboveTheThreshold() {
+        StaLtaService service = new StaLtaService(config);
+        float[] samples = new float[100];
+        Arrays.fill(samples, 0, 90, 1f);
+        Arrays.fill(samples, 90, 100, 10f);
+        float[] ratios = new float[100];
+
+        int detections = service.process(samples, 0, 100, ratios);
+
+        int above = 0;
+        for (float ratio : ratios) {
+            if (ratio > 2.0) {
+                above++;
+            }
+        }
+        assertTrue(above > 0);
+        assertEquals(above, detections);
+    }
+
+    private static float[] noise(int length) {
+        Random random = new Random(7);
+        float[] samples = new float[length];
+        for (int i = 0; i < length; i++) {
+            boolean burst = i % 4000 > 3800;
+            samples[i] = (float) (random.nextGaussian() * (burst ? 30 : 1));
+        }
+        return samples;
+    }
+}
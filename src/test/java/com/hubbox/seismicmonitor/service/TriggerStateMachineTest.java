@@ -0,0 +1,120 @@
+package com.hubbox.seismicmonitor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hubbox.seismicmonitor.config.AppConfig;
+import com.hubbox.seismicmonitor.model.SampleBlock;
+import com.hubbox.seismicmonitor.model.SeismicEvent;
+import com.hubbox.seismicmonitor.model.StreamId;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TriggerStateMachineTest {
+    private static final StreamId STREAM = new StreamId("IU", "ANMO", "00", "BHZ");
+    private static final double RATE = 10.0;
+    private static final long SAMPLE = 100_000_000L;
+
+    private final List<Long> onsets = new ArrayList<>();
+    private final List<SeismicEvent> events = new ArrayList<>();
+    // threshold 3, trigger off 1.5, min duration 1 s, hold 2 s
+    private final TriggerStateMachine machine = new TriggerStateMachine(STREAM, "test", new AppConfig(),
+        new TriggerListener() {
+            @Override
+            public void triggerOn(StreamId streamId, long onsetNanos) {
+                onsets.add(onsetNanos);
+            }
+
+            @Override
+            public void eventCompleted(SeismicEvent event) {
+                events.add(event);
+            }
+        });
+    private int samples;
+
+    @Test
+    void completesTheEventOnlyOnceTheHoldHasElapsed() {
+        feed(10, 1f);
+        feed(20, 5f);
+        assertEquals(List.of(10 * SAMPLE), onsets);
+
+        // Below the off threshold from sample 30; the hold ends 2 s later at sample 50
+        feed(20, 1f);
+        assertTrue(events.isEmpty());
+        assertTrue(machine.isTriggered());
+
+        feed(1, 1f);
+        assertEquals(1, events.size());
+        assertFalse(machine.isTriggered());
+        SeismicEvent event = events.get(0);
+        assertEquals(Instant.ofEpochSecond(0, 10 * SAMPLE), event.onsetTime());
+        assertEquals(Instant.ofEpochSecond(0, 30 * SAMPLE), event.endTime());
+        assertEquals(5.0, event.peakRatio());
+    }
+
+    @Test
+    void risingAgainDuringTheHoldContinuesTheSameEvent() {
+        feed(20, 5f);
+        feed(19, 1f);
+        feed(5, 8f);
+        feed(21, 1f);
+
+        assertEquals(1, onsets.size());
+        assertEquals(1, events.size());
+        assertEquals(Instant.ofEpochSecond(0, 0), events.get(0).onsetTime());
+        assertEquals(Instant.ofEpochSecond(0, 44 * SAMPLE), events.get(0).endTime());
+        assertEquals(8.0, events.get(0).peakRatio());
+    }
+
+    @Test
+    void aRatioBetweenTheThresholdsKeepsTheTriggerOn() {
+        feed(10, 5f);
+        feed(50, 2f);
+
+        assertTrue(machine.isTriggered());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void discardsTriggersShorterThanTheMinimumDuration() {
+        // Active for 0.9 s: reported as an onset but never as an event
+        feed(9, 5f);
+        feed(21, 1f);
+        assertEquals(1, onsets.size());
+        assertTrue(events.isEmpty());
+        assertFalse(machine.isTriggered());
+
+        // Exactly the minimum duration is long enough
+        feed(10, 5f);
+        feed(21, 1f);
+        assertEquals(2, onsets.size());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void marksTheSamplesDuringWhichTheTriggerIsActive() {
+        SampleBlock block = block(new float[] {1f, 5f, 4f, 1f, 6f, 1f});
+        machine.process(block);
+
+        for (int i = 0; i < block.getLength(); i++) {
+            assertEquals(i == 1 || i == 2 || i == 4, block.isDetected(i));
+        }
+    }
+
+    private void feed(int count, float ratio) {
+        float[] ratios = new float[count];
+        Arrays.fill(ratios, ratio);
+        machine.process(block(ratios));
+    }
+
+    private SampleBlock block(float[] ratios) {
+        SampleBlock block = new SampleBlock(STREAM, samples * SAMPLE, RATE, ratios.length);
+        System.arraycopy(ratios, 0, block.getRatios(), 0, ratios.length);
+        samples += ratios.length;
+        return block;
+    }
+}